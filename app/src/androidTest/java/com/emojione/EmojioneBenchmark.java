@@ -0,0 +1,115 @@
+package com.emojione;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times replacing shortnames in a status sized text, "before" being the regex and String.replace
+ * implementation it replaced, and measures the shortname table against the map of strings it
+ * replaced. The results are logged under the tag "EmojioneBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class EmojioneBenchmark {
+    private static final String TAG = "EmojioneBenchmark";
+    private static final int RUNS = 20000;
+    private static final Pattern SHORTNAME_PATTERN = Pattern.compile(":([-+\\w]+):");
+    private static final String STATUS = "<p>Good morning everyone :smile: :coffee: it's a lovely "
+            + "day here, the sun is out :sunny: and I've finally fixed that bug :tada: :tada: "
+            + "<a href=\"https://example.com/tags/tusky\">#tusky</a> "
+            + "<span class=\"h-card\"><a href=\"https://example.com/@someone\">@someone</a>"
+            + "</span> thanks for the help :+1: :heart: meeting at 10:30:00</p>";
+    private static final String PLAIN = "<p>Just an ordinary status with no shortnames in it at "
+            + "all, only the usual links and mentions, which is what most statuses are like.</p>";
+
+    @Test
+    public void shortnameToUnicode() {
+        assertEquals(before(STATUS), Emojione.shortnameToUnicode(STATUS, true, false));
+        // Warm up, so neither is timing class loading.
+        for (int i = 0; i < RUNS / 10; i++) {
+            before(STATUS);
+            Emojione.shortnameToUnicode(STATUS, true, false);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            before(STATUS);
+            before(PLAIN);
+        }
+        long before = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            Emojione.shortnameToUnicode(STATUS, true, false);
+            Emojione.shortnameToUnicode(PLAIN, true, false);
+        }
+        long after = System.nanoTime() - start;
+
+        Log.i(TAG, String.format("before: %d ns, after: %d ns, per pair of statuses",
+                before / RUNS, after / RUNS));
+    }
+
+    @Test
+    public void tableFootprint() {
+        String data = Emojione.ShortNameTable.read();
+        int copies = 20;
+        Object[] kept = new Object[copies];
+
+        long before = usedMemory();
+        long start = System.nanoTime();
+        for (int i = 0; i < copies; i++) {
+            Map<String, String> map = new HashMap<>();
+            String[] lines = data.split("\n");
+            for (String line : lines) {
+                int colon = line.indexOf(':');
+                map.put(line.substring(0, colon), line.substring(colon + 1));
+            }
+            kept[i] = map;
+        }
+        long mapTime = (System.nanoTime() - start) / copies;
+        long mapMemory = (usedMemory() - before) / copies;
+        Arrays.fill(kept, null);
+
+        before = usedMemory();
+        start = System.nanoTime();
+        for (int i = 0; i < copies; i++) {
+            // A copy of its own, new String(data) would share the characters.
+            kept[i] = new Emojione.ShortNameTable(new String(data.toCharArray()));
+        }
+        long tableTime = (System.nanoTime() - start) / copies;
+        long tableMemory = (usedMemory() - before) / copies;
+        assertNotNull(kept[0]);
+
+        Log.i(TAG, String.format("table, before: %d us and %d KB, after: %d us and %d KB",
+                mapTime / 1000, mapMemory / 1024, tableTime / 1000, tableMemory / 1024));
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static String before(String input) {
+        Matcher matcher = SHORTNAME_PATTERN.matcher(input);
+        while (matcher.find()) {
+            String unicode = Emojione.getUnicode(matcher.group(1));
+            if (unicode != null) {
+                input = input.replace(":" + matcher.group(1) + ":", unicode);
+            }
+        }
+        return input;
+    }
+}
@@ -0,0 +1,135 @@
+package com.keylesspalace.tusky;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.keylesspalace.tusky.util.AvatarLoader;
+import com.keylesspalace.tusky.util.RoundedTransformation;
+import com.squareup.picasso.LruCache;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+import com.squareup.picasso.Target;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * How much of Picasso's memory cache the avatars of a 200 row timeline take, each by a different
+ * account and uploaded at 400x400. "Before" is how they used to be loaded, at their full size,
+ * and "after" is through AvatarLoader. The results are logged under the tag
+ * "AvatarCacheBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class AvatarCacheBenchmark {
+    private static final String TAG = "AvatarCacheBenchmark";
+    private static final int ROWS = 200;
+    private static final int UPLOADED_SIZE = 400; // pixels
+
+    @Test
+    public void timelineAvatars() throws Exception {
+        final Context context = InstrumentationRegistry.getTargetContext();
+        List<String> urls = createAvatars(context);
+        final int size = context.getResources().getDimensionPixelSize(R.dimen.avatar_size);
+
+        long before = fillCache(context, urls, new RequestFactory() {
+            @Override
+            public RequestCreator create(Picasso picasso, String url) {
+                return picasso.load(url).transform(new RoundedTransformation(7, 0));
+            }
+        });
+        long after = fillCache(context, urls, new RequestFactory() {
+            @Override
+            public RequestCreator create(Picasso picasso, String url) {
+                return AvatarLoader.createRequest(picasso, url, size);
+            }
+        });
+        assertTrue(after < before);
+        Log.i(TAG, String.format("memory cache, before: %d KB, after: %d KB, for %d avatars "
+                + "shown at %d pixels", before / 1024, after / 1024, ROWS, size));
+    }
+
+    private interface RequestFactory {
+        RequestCreator create(Picasso picasso, String url);
+    }
+
+    private static List<String> createAvatars(Context context) throws Exception {
+        File directory = new File(context.getCacheDir(), TAG);
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IllegalStateException("Couldn't make " + directory);
+        }
+        Bitmap bitmap = Bitmap.createBitmap(UPLOADED_SIZE, UPLOADED_SIZE,
+                Bitmap.Config.ARGB_8888);
+        Canvas canvas = new Canvas(bitmap);
+        List<String> urls = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            canvas.drawColor(Color.rgb(i, 255 - i, (7 * i) % 256));
+            File file = new File(directory, i + ".png");
+            OutputStream stream = new FileOutputStream(file);
+            try {
+                bitmap.compress(Bitmap.CompressFormat.PNG, 100, stream);
+            } finally {
+                stream.close();
+            }
+            urls.add(Uri.fromFile(file).toString());
+        }
+        bitmap.recycle();
+        return urls;
+    }
+
+    /** @return the bytes the memory cache holds once every avatar is loaded */
+    private static long fillCache(Context context, final List<String> urls,
+            final RequestFactory factory) throws InterruptedException {
+        LruCache cache = new LruCache(256 * 1024 * 1024);
+        final Picasso picasso = new Picasso.Builder(context)
+                .memoryCache(cache)
+                .build();
+        final CountDownLatch loaded = new CountDownLatch(urls.size());
+        // Picasso only holds on to targets weakly.
+        final List<Target> targets = new ArrayList<>(urls.size());
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                for (String url : urls) {
+                    Target target = new Target() {
+                        @Override
+                        public void onBitmapLoaded(Bitmap bitmap, Picasso.LoadedFrom from) {
+                            loaded.countDown();
+                        }
+
+                        @Override
+                        public void onBitmapFailed(Drawable errorDrawable) {
+                            loaded.countDown();
+                        }
+
+                        @Override
+                        public void onPrepareLoad(Drawable placeHolderDrawable) {}
+                    };
+                    targets.add(target);
+                    factory.create(picasso, url).into(target);
+                }
+            }
+        });
+        assertTrue(loaded.await(60, TimeUnit.SECONDS));
+        assertTrue(cache.size() > 0);
+        long bytes = cache.size();
+        picasso.shutdown();
+        return bytes;
+    }
+}
@@ -0,0 +1,141 @@
+package com.keylesspalace.tusky;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.os.Build;
+import android.os.Debug;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.keylesspalace.tusky.util.BitmapPool;
+import com.keylesspalace.tusky.util.MediaPreviewLoader;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Plays back the preview decodes of scrolling through a timeline full of media, with a screen's
+ * worth of previews in view and each newly bound one taking the place of the oldest, and measures
+ * the allocations and garbage collections it causes. "Before" is decoding every preview into a
+ * new ARGB_8888 bitmap, "after" is MediaPreviewLoader with its pool. The results are logged under
+ * the tag "MediaPreviewBenchmark".
+ *
+ * From Oreo on, bitmap pixels aren't on the Java heap, so they don't show up in the allocations.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MediaPreviewBenchmark {
+    private static final String TAG = "MediaPreviewBenchmark";
+    private static final int PREVIEWS = 30;
+    private static final int ON_SCREEN = 8; // previews
+    private static final int BINDS = 600;
+
+    @Test
+    public void scrollThroughMedia() throws Exception {
+        List<byte[]> previews = createPreviews();
+        Measurement before = scroll(previews, new Decoder() {
+            @Override
+            public Bitmap decode(byte[] data) {
+                return BitmapFactory.decodeByteArray(data, 0, data.length);
+            }
+
+            @Override
+            public void release(Bitmap bitmap) {}
+        });
+        final BitmapPool pool = new BitmapPool(16 * 1024 * 1024);
+        Measurement after = scroll(previews, new Decoder() {
+            @Override
+            public Bitmap decode(byte[] data) throws Exception {
+                return MediaPreviewLoader.decode(data, pool);
+            }
+
+            @Override
+            public void release(Bitmap bitmap) {
+                pool.put(bitmap);
+            }
+        });
+        if (Build.VERSION.SDK_INT < 26) {
+            assertTrue(after.allocatedBytes < before.allocatedBytes);
+        }
+        Log.i(TAG, String.format("%d previews bound, before: %s, after: %s", BINDS, before,
+                after));
+    }
+
+    private interface Decoder {
+        Bitmap decode(byte[] data) throws Exception;
+        void release(Bitmap bitmap);
+    }
+
+    private static class Measurement {
+        long allocatedBytes;
+        int allocations;
+        String gcCount;
+        long milliseconds;
+
+        @Override
+        public String toString() {
+            return String.format("%d KB allocated in %d allocations, %s GCs, %d ms",
+                    allocatedBytes / 1024, allocations, gcCount, milliseconds);
+        }
+    }
+
+    /* JPEGs the size of Mastodon's previews, in a few different sizes. */
+    private static List<byte[]> createPreviews() {
+        List<byte[]> previews = new ArrayList<>(PREVIEWS);
+        for (int i = 0; i < PREVIEWS; i++) {
+            Bitmap bitmap = Bitmap.createBitmap(400, 200 + 50 * (i % 4), Bitmap.Config.ARGB_8888);
+            new Canvas(bitmap).drawColor(Color.rgb(8 * i, 255 - 8 * i, 128));
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            bitmap.compress(Bitmap.CompressFormat.JPEG, 85, out);
+            bitmap.recycle();
+            previews.add(out.toByteArray());
+        }
+        return previews;
+    }
+
+    @SuppressWarnings("deprecation")
+    private static Measurement scroll(List<byte[]> previews, Decoder decoder) throws Exception {
+        Bitmap[] screen = new Bitmap[ON_SCREEN];
+        Runtime.getRuntime().gc();
+        String gcsBefore = getGcCount();
+        Debug.resetGlobalAllocSize();
+        Debug.resetGlobalAllocCount();
+        Debug.startAllocCounting();
+        long start = System.nanoTime();
+        for (int i = 0; i < BINDS; i++) {
+            int slot = i % ON_SCREEN;
+            if (screen[slot] != null) {
+                decoder.release(screen[slot]);
+            }
+            screen[slot] = decoder.decode(previews.get(i % previews.size()));
+        }
+        long end = System.nanoTime();
+        Debug.stopAllocCounting();
+        Measurement measurement = new Measurement();
+        measurement.milliseconds = (end - start) / 1000000;
+        measurement.allocatedBytes = Debug.getGlobalAllocSize();
+        measurement.allocations = Debug.getGlobalAllocCount();
+        String gcsAfter = getGcCount();
+        if (gcsBefore == null || gcsAfter == null) {
+            measurement.gcCount = "unknown";
+        } else {
+            long gcs = Long.parseLong(gcsAfter) - Long.parseLong(gcsBefore);
+            measurement.gcCount = String.valueOf(gcs);
+        }
+        return measurement;
+    }
+
+    private static String getGcCount() {
+        if (Build.VERSION.SDK_INT >= 23) {
+            return Debug.getRuntimeStat("art.gc.gc-count");
+        }
+        return null;
+    }
+}
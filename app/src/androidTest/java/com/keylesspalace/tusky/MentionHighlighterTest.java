@@ -0,0 +1,98 @@
+package com.keylesspalace.tusky;
+
+import android.support.test.runner.AndroidJUnit4;
+import android.text.SpannableStringBuilder;
+import android.text.Spanned;
+import android.text.style.ForegroundColorSpan;
+
+import com.keylesspalace.tusky.util.MentionHighlighter;
+import com.keylesspalace.tusky.util.SpanUtils;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Makes random edits to random text, checking after each one that the incremental highlighter
+ * coloured it exactly as a full pass of SpanUtils.highlightSpans would. It's an instrumented test
+ * because it depends on how the platform's text moves spans around as it's edited.
+ */
+@RunWith(AndroidJUnit4.class)
+public class MentionHighlighterTest {
+    private static final int COLOUR = 0xff00ff00;
+    private static final int TEXTS = 500;
+    private static final int EDITS = 40;
+    private static final String[] PIECES = {
+        "#", "@", "##", "@@", "#tag", "@user", "@user@example.com", "a", "word", " ", " ", "  ",
+        "\n", "\t", "\u00e9", "\ud83d\udc18", "#a#b", "x@y",
+    };
+
+    @Test
+    public void matchesAFullHighlight() {
+        Random random = new Random(7);
+        for (int i = 0; i < TEXTS; i++) {
+            SpannableStringBuilder text = new SpannableStringBuilder(randomText(random));
+            MentionHighlighter highlighter = new MentionHighlighter(COLOUR);
+            highlighter.highlightAll(text);
+            text.setSpan(highlighter, 0, text.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+            assertSameHighlight(text);
+            for (int j = 0; j < EDITS; j++) {
+                int start = random.nextInt(text.length() + 1);
+                int end = start;
+                if (text.length() > start && random.nextInt(3) > 0) {
+                    end = start + 1 + random.nextInt(Math.min(6, text.length() - start));
+                }
+                String replacement = random.nextInt(4) == 0 ? "" : randomPiece(random);
+                text.replace(start, end, replacement);
+                assertSameHighlight(text);
+            }
+        }
+    }
+
+    @Test
+    public void coloursTheRestOnceTheWordEndingItIsFixed() {
+        SpannableStringBuilder text = new SpannableStringBuilder("#a#b #c @d");
+        MentionHighlighter highlighter = new MentionHighlighter(COLOUR);
+        highlighter.highlightAll(text);
+        text.setSpan(highlighter, 0, text.length(), Spanned.SPAN_INCLUSIVE_INCLUSIVE);
+        assertEquals(0, text.getSpans(0, text.length(), ForegroundColorSpan.class).length);
+        text.replace(2, 3, "");
+        assertEquals(3, text.getSpans(0, text.length(), ForegroundColorSpan.class).length);
+        assertSameHighlight(text);
+    }
+
+    private static void assertSameHighlight(SpannableStringBuilder text) {
+        SpannableStringBuilder expected = new SpannableStringBuilder(text.toString());
+        SpanUtils.highlightSpans(expected, COLOUR);
+        assertEquals(text.toString(), describe(expected), describe(text));
+    }
+
+    /* The ranges that are coloured, in order. */
+    private static String describe(Spanned text) {
+        ForegroundColorSpan[] spans = text.getSpans(0, text.length(), ForegroundColorSpan.class);
+        String[] ranges = new String[spans.length];
+        for (int i = 0; i < spans.length; i++) {
+            ranges[i] = String.format("%05d-%05d", text.getSpanStart(spans[i]),
+                    text.getSpanEnd(spans[i]));
+        }
+        Arrays.sort(ranges);
+        return Arrays.toString(ranges);
+    }
+
+    private static String randomText(Random random) {
+        StringBuilder builder = new StringBuilder();
+        int pieces = random.nextInt(20);
+        for (int i = 0; i < pieces; i++) {
+            builder.append(randomPiece(random));
+        }
+        return builder.toString();
+    }
+
+    private static String randomPiece(Random random) {
+        return PIECES[random.nextInt(PIECES.length)];
+    }
+}
@@ -0,0 +1,113 @@
+package com.keylesspalace.tusky;
+
+import android.content.Context;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.text.Spanned;
+import android.text.style.ClickableSpan;
+import android.util.Log;
+import android.widget.TextView;
+
+import com.emojione.Emojione;
+import com.keylesspalace.tusky.entity.Status;
+import com.keylesspalace.tusky.interfaces.LinkListener;
+import com.keylesspalace.tusky.util.HtmlUtils;
+import com.keylesspalace.tusky.util.LinkHelper;
+import com.keylesspalace.tusky.util.StatusContentCache;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times turning the content of a status into the clickable text that's shown, from its HTML to
+ * setting it on a view. "Before" is Html.fromHtml followed by LinkHelper swapping the URLSpans it
+ * made, "after" is the single pass of MastodonHtmlParser. The results are logged under the tag
+ * "StatusContentBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class StatusContentBenchmark {
+    private static final String TAG = "StatusContentBenchmark";
+    private static final int RUNS = 2000;
+    private static final String CONTENT = "<p>Status with a <a href=\"https://example.com/tags/tusky"
+            + "\" class=\"mention hashtag\" rel=\"tag\">#<span>tusky</span></a> tag, <span "
+            + "class=\"h-card\"><a href=\"https://example.com/@someone\" class=\"u-url mention\">"
+            + "@<span>someone</span></a></span> and some shortcodes :thumbsup: :smile:</p><p>And "
+            + "a second paragraph with a link <a href=\"https://example.com/a/long/path/to/it\" "
+            + "rel=\"nofollow noopener\" target=\"_blank\"><span class=\"invisible\">https://"
+            + "</span><span class=\"ellipsis\">example.com/a/long/path/t</span><span "
+            + "class=\"invisible\">o/it</span></a>.<br />The end.</p>";
+
+    @Test
+    public void showContent() {
+        final Status.Mention mention = new Status.Mention();
+        mention.id = "1";
+        mention.url = "https://example.com/@someone";
+        mention.username = "someone";
+        mention.localUsername = "someone";
+        final Status.Mention[] mentions = new Status.Mention[] { mention };
+        final LinkListener listener = new LinkListener() {
+            @Override
+            public void onViewTag(String tag) {}
+
+            @Override
+            public void onViewAccount(String id) {}
+        };
+        final Context context = InstrumentationRegistry.getTargetContext();
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                TextView view = new TextView(context);
+
+                Spanned content = StatusContentCache.render(CONTENT, mentions);
+                // One for each of the tag, the mention and the link.
+                ClickableSpan[] spans = content.getSpans(0, content.length(),
+                        ClickableSpan.class);
+                assertEquals(3, spans.length);
+                assertEquals("#tusky", spannedText(content, spans[0]));
+                assertEquals("@someone", spannedText(content, spans[1]));
+                assertEquals("example.com/a/long/path/t\u2026",
+                        spannedText(content, spans[2]));
+                // Warm up, so neither is timing class loading.
+                for (int i = 0; i < RUNS / 10; i++) {
+                    showBefore(view, mentions, listener);
+                    showAfter(view, mentions, listener);
+                }
+
+                long start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    showBefore(view, mentions, listener);
+                }
+                long before = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                for (int i = 0; i < RUNS; i++) {
+                    showAfter(view, mentions, listener);
+                }
+                long after = System.nanoTime() - start;
+
+                Log.i(TAG, String.format("before: %d us, after: %d us, per status",
+                        before / (RUNS * 1000), after / (RUNS * 1000)));
+            }
+        });
+    }
+
+    private static String spannedText(Spanned content, Object span) {
+        return content.subSequence(content.getSpanStart(span), content.getSpanEnd(span))
+                .toString();
+    }
+
+    private static void showBefore(TextView view, Status.Mention[] mentions,
+            LinkListener listener) {
+        Spanned content = HtmlUtils.fromHtml(Emojione.shortnameToUnicode(CONTENT, false));
+        LinkHelper.setClickableText(view, content, mentions, true, listener);
+    }
+
+    private static void showAfter(TextView view, Status.Mention[] mentions,
+            LinkListener listener) {
+        Spanned content = StatusContentCache.render(CONTENT, mentions);
+        LinkHelper.setClickableText(view, content, listener);
+    }
+}
@@ -0,0 +1,104 @@
+package com.keylesspalace.tusky;
+
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.keylesspalace.tusky.entity.Status;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Times reading a page of 40 statuses, half of them reblogs, the way the timeline does. "Eager" is
+ * what reading a page used to cost, when every content was parsed into text as it was read.
+ * The results are logged under the tag "StatusParseBenchmark".
+ */
+@RunWith(AndroidJUnit4.class)
+public class StatusParseBenchmark {
+    private static final String TAG = "StatusParseBenchmark";
+    private static final int PAGE_SIZE = 40;
+    private static final int RUNS = 20;
+
+    @Test
+    public void parsePage() throws Exception {
+        TuskyApplication application = (TuskyApplication) InstrumentationRegistry
+                .getTargetContext().getApplicationContext();
+        Gson gson = application.getGson();
+
+        // Warm up, so the first runs aren't timing class loading.
+        parse(gson, createPage(0), true);
+
+        long lazyTotal = 0;
+        long eagerTotal = 0;
+        for (int i = 1; i <= RUNS; i++) {
+            /* Every page has statuses with ids of their own, otherwise the contents would only be
+             * parsed the first time and then come from the cache. */
+            String lazyPage = createPage(2 * i);
+            String eagerPage = createPage(2 * i + 1);
+
+            long start = System.nanoTime();
+            parse(gson, lazyPage, false);
+            lazyTotal += System.nanoTime() - start;
+
+            start = System.nanoTime();
+            parse(gson, eagerPage, true);
+            eagerTotal += System.nanoTime() - start;
+        }
+        Log.i(TAG, String.format("lazy: %.2f ms, eager: %.2f ms, per page of %d statuses",
+                lazyTotal / (RUNS * 1e6), eagerTotal / (RUNS * 1e6), PAGE_SIZE));
+    }
+
+    private static void parse(Gson gson, String page, boolean renderAll) {
+        List<Status> statuses = gson.fromJson(page, new TypeToken<List<Status>>() {}.getType());
+        assertEquals(PAGE_SIZE, statuses.size());
+        if (renderAll) {
+            for (Status status : statuses) {
+                status.getContent();
+                if (status.reblog != null) {
+                    status.reblog.getContent();
+                }
+            }
+        }
+    }
+
+    private static String createPage(int run) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            if (i > 0) {
+                builder.append(',');
+            }
+            int id = run * 1000 + i * 2;
+            String status = createStatus(Integer.toString(id), null);
+            if (i % 2 == 0) {
+                status = createStatus(Integer.toString(id + 1), status);
+            }
+            builder.append(status);
+        }
+        return builder.append(']').toString();
+    }
+
+    private static String createStatus(String id, String reblog) {
+        String content = "<p>Status number " + id + " with a <a href=\\\"https://example.com/tags/"
+                + "tusky\\\" class=\\\"mention hashtag\\\">#<span>tusky</span></a> tag, "
+                + "<span class=\\\"h-card\\\"><a href=\\\"https://example.com/@someone\\\" "
+                + "class=\\\"u-url mention\\\">@<span>someone</span></a></span> and some "
+                + "shortcodes :thumbsup: :smile: :elephant:</p><p>And a second paragraph with a "
+                + "link <a href=\\\"https://example.com/a/long/path\\\">example.com/a/long/path"
+                + "</a>.</p>";
+        return "{\"id\":\"" + id + "\","
+                + "\"created_at\":\"2017-05-01T12:00:00.000Z\","
+                + "\"content\":\"" + (reblog == null ? content : "") + "\","
+                + "\"account\":{\"id\":\"1\",\"username\":\"someone\",\"acct\":\"someone\","
+                + "\"display_name\":\"Someone :smile:\",\"note\":\"<p>A note</p>\","
+                + "\"url\":\"https://example.com/@someone\",\"avatar\":\"\",\"header\":\"\"},"
+                + "\"reblog\":" + (reblog == null ? "null" : reblog) + ","
+                + "\"visibility\":\"public\",\"media_attachments\":[],\"mentions\":[]}";
+    }
+}
@@ -20,33 +20,18 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
-import android.text.Spanned;
-
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import com.keylesspalace.tusky.entity.Notification;
-import com.keylesspalace.tusky.json.SpannedTypeAdapter;
-import com.keylesspalace.tusky.json.StringWithEmoji;
-import com.keylesspalace.tusky.json.StringWithEmojiTypeAdapter;
 import com.keylesspalace.tusky.network.MastodonAPI;
 import com.keylesspalace.tusky.util.NotificationMaker;
-import com.keylesspalace.tusky.util.OkHttpUtils;
 
 import java.util.HashSet;
 import java.util.List;
-
-import java.io.IOException;
 import java.util.Set;
 
-import okhttp3.Interceptor;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class MessagingService extends IntentService {
     public static final int NOTIFY_ID = 6; // This is an arbitrary number.
@@ -83,39 +68,7 @@ public class MessagingService extends IntentService {
     }
 
     private void createMastodonApi() {
-        SharedPreferences preferences = getSharedPreferences(
-                getString(R.string.preferences_file_key), Context.MODE_PRIVATE);
-        final String domain = preferences.getString("domain", null);
-        final String accessToken = preferences.getString("accessToken", null);
-
-        OkHttpClient okHttpClient = OkHttpUtils.getCompatibleClientBuilder()
-                .addInterceptor(new Interceptor() {
-                    @Override
-                    public okhttp3.Response intercept(Chain chain) throws IOException {
-                        Request originalRequest = chain.request();
-
-                        Request.Builder builder = originalRequest.newBuilder()
-                                .header("Authorization", String.format("Bearer %s", accessToken));
-
-                        Request newRequest = builder.build();
-
-                        return chain.proceed(newRequest);
-                    }
-                })
-                .build();
-
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Spanned.class, new SpannedTypeAdapter())
-                .registerTypeAdapter(StringWithEmoji.class, new StringWithEmojiTypeAdapter())
-                .create();
-
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://" + domain)
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create(gson))
-                .build();
-
-        mastodonAPI = retrofit.create(MastodonAPI.class);
+        mastodonAPI = ((TuskyApplication) getApplication()).getMastodonAPI();
     }
 
     private void onNotificationsReceived(List<Notification> notificationList) {
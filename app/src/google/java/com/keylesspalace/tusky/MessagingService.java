@@ -20,36 +20,21 @@
 
 package com.keylesspalace.tusky;
 
-import android.content.Context;
 import android.content.SharedPreferences;
 import android.preference.PreferenceManager;
-import android.text.Spanned;
 
 import com.google.firebase.iid.FirebaseInstanceId;
 import com.google.firebase.messaging.FirebaseMessagingService;
 import com.google.firebase.messaging.RemoteMessage;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import com.keylesspalace.tusky.entity.Notification;
-import com.keylesspalace.tusky.json.SpannedTypeAdapter;
-import com.keylesspalace.tusky.json.StringWithEmoji;
-import com.keylesspalace.tusky.json.StringWithEmojiTypeAdapter;
 import com.keylesspalace.tusky.network.MastodonAPI;
 import com.keylesspalace.tusky.util.Log;
 import com.keylesspalace.tusky.util.NotificationMaker;
-import com.keylesspalace.tusky.util.OkHttpUtils;
 
-import java.io.IOException;
-
-import okhttp3.Interceptor;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
-import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class MessagingService extends FirebaseMessagingService {
     private MastodonAPI mastodonAPI;
@@ -93,38 +78,7 @@ public class MessagingService extends FirebaseMessagingService {
     }
 
     private void createMastodonAPI() {
-        SharedPreferences preferences = getSharedPreferences(getString(R.string.preferences_file_key), Context.MODE_PRIVATE);
-        final String domain = preferences.getString("domain", null);
-        final String accessToken = preferences.getString("accessToken", null);
-
-        OkHttpClient okHttpClient = OkHttpUtils.getCompatibleClientBuilder()
-                .addInterceptor(new Interceptor() {
-                    @Override
-                    public okhttp3.Response intercept(Chain chain) throws IOException {
-                        Request originalRequest = chain.request();
-
-                        Request.Builder builder = originalRequest.newBuilder()
-                                .header("Authorization", String.format("Bearer %s", accessToken));
-
-                        Request newRequest = builder.build();
-
-                        return chain.proceed(newRequest);
-                    }
-                })
-                .build();
-
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Spanned.class, new SpannedTypeAdapter())
-                .registerTypeAdapter(StringWithEmoji.class, new StringWithEmojiTypeAdapter())
-                .create();
-
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl("https://" + domain)
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create(gson))
-                .build();
-
-        mastodonAPI = retrofit.create(MastodonAPI.class);
+        mastodonAPI = ((TuskyApplication) getApplication()).getMastodonAPI();
     }
 
     public static String getInstanceToken() {
@@ -213,21 +213,24 @@ public class AccountActivity extends BaseActivity implements SFragment.OnUserRem
     }
 
     private void obtainAccount() {
-        mastodonAPI.account(accountId).enqueue(new Callback<Account>() {
-            @Override
-            public void onResponse(Call<Account> call, Response<Account> response) {
-                if (response.isSuccessful()) {
-                    onObtainAccountSuccess(response.body());
-                } else {
-                    onObtainAccountFailure();
-                }
-            }
+        /* Show the profile as it was last seen, if it was, while it's being refreshed. */
+        TuskyApplication application = (TuskyApplication) getApplication();
+        application.enqueueStaleWhileRevalidate(mastodonAPI.account(accountId), Account.class,
+                new Callback<Account>() {
+                    @Override
+                    public void onResponse(Call<Account> call, Response<Account> response) {
+                        if (response.isSuccessful()) {
+                            onObtainAccountSuccess(response.body());
+                        } else {
+                            onObtainAccountFailure();
+                        }
+                    }
 
-            @Override
-            public void onFailure(Call<Account> call, Throwable t) {
-                onObtainAccountFailure();
-            }
-        });
+                    @Override
+                    public void onFailure(Call<Account> call, Throwable t) {
+                        onObtainAccountFailure();
+                    }
+                });
     }
 
     private void onObtainAccountSuccess(Account account) {
@@ -28,40 +28,26 @@ import android.os.SystemClock;
 import android.preference.PreferenceManager;
 import android.support.annotation.Nullable;
 import android.support.v7.app.AppCompatActivity;
-import android.text.Spanned;
 import android.util.TypedValue;
 import android.view.Menu;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.keylesspalace.tusky.json.SpannedTypeAdapter;
-import com.keylesspalace.tusky.json.StringWithEmoji;
-import com.keylesspalace.tusky.json.StringWithEmojiTypeAdapter;
+import com.keylesspalace.tusky.network.CallScope;
 import com.keylesspalace.tusky.network.MastodonAPI;
 import com.keylesspalace.tusky.network.TuskyAPI;
 import com.keylesspalace.tusky.notifications.MqttNotification;
 import com.keylesspalace.tusky.util.Log;
-import com.keylesspalace.tusky.util.OkHttpUtils;
 
-import java.io.IOException;
-
-import okhttp3.Dispatcher;
-import okhttp3.Interceptor;
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Retrofit;
-import retrofit2.converter.gson.GsonConverterFactory;
 
 public class BaseActivity extends AppCompatActivity {
     private static final String TAG = "BaseActivity"; // logging tag
 
     public MastodonAPI mastodonAPI;
     protected TuskyAPI tuskyAPI;
-    protected Dispatcher mastodonApiDispatcher;
+    protected CallScope mastodonApiScope;
     protected PendingIntent serviceAlarmIntent;
 
     @Override
@@ -82,7 +68,7 @@ public class BaseActivity extends AppCompatActivity {
 
     @Override
     protected void onDestroy() {
-        if(mastodonApiDispatcher != null) mastodonApiDispatcher.cancelAll();
+        if (mastodonApiScope != null) mastodonApiScope.cancelAll();
         super.onDestroy();
     }
 
@@ -126,47 +112,16 @@ public class BaseActivity extends AppCompatActivity {
     }
 
     protected void createMastodonAPI() {
-        mastodonApiDispatcher = new Dispatcher();
-
-        Gson gson = new GsonBuilder()
-                .registerTypeAdapter(Spanned.class, new SpannedTypeAdapter())
-                .registerTypeAdapter(StringWithEmoji.class, new StringWithEmojiTypeAdapter())
-                .create();
-
-        OkHttpClient okHttpClient = OkHttpUtils.getCompatibleClientBuilder()
-                .addInterceptor(new Interceptor() {
-                    @Override
-                    public Response intercept(Chain chain) throws IOException {
-                        Request originalRequest = chain.request();
-
-                        Request.Builder builder = originalRequest.newBuilder();
-                        String accessToken = getAccessToken();
-                        if (accessToken != null) {
-                            builder.header("Authorization", String.format("Bearer %s",
-                                    accessToken));
-                        }
-                        Request newRequest = builder.build();
-
-                        return chain.proceed(newRequest);
-                    }
-                })
-                .dispatcher(mastodonApiDispatcher)
-                .build();
-
-        Retrofit retrofit = new Retrofit.Builder()
-                .baseUrl(getBaseUrl())
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create(gson))
-                .build();
-
-        mastodonAPI = retrofit.create(MastodonAPI.class);
+        mastodonApiScope = new CallScope();
+        MastodonAPI api = ((TuskyApplication) getApplication()).getMastodonAPI();
+        mastodonAPI = mastodonApiScope.wrap(MastodonAPI.class, api);
     }
 
     protected void createTuskyAPI() {
         if (BuildConfig.USES_PUSH_NOTIFICATIONS) {
             Retrofit retrofit = new Retrofit.Builder()
                     .baseUrl(getString(R.string.tusky_api_url))
-                    .client(OkHttpUtils.getCompatibleClient())
+                    .client(((TuskyApplication) getApplication()).getOkHttpClient())
                     .build();
 
             tuskyAPI = retrofit.create(TuskyAPI.class);
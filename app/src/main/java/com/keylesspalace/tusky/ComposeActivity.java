@@ -26,11 +26,8 @@ import android.content.res.AssetFileDescriptor;
 import android.content.res.Resources;
 import android.database.Cursor;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
-import android.media.MediaMetadataRetriever;
-import android.media.ThumbnailUtils;
 import android.net.Uri;
 import android.os.AsyncTask;
 import android.os.Build;
@@ -72,15 +69,18 @@ import android.widget.TextView;
 import com.keylesspalace.tusky.entity.Media;
 import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.fragment.ComposeOptionsFragment;
+import com.keylesspalace.tusky.network.ProgressRequestBody;
 import com.keylesspalace.tusky.util.DownsizeImageTask;
 import com.keylesspalace.tusky.util.EditTextTyped;
-import com.keylesspalace.tusky.util.CountUpDownLatch;
 import com.keylesspalace.tusky.util.IOUtils;
+import com.keylesspalace.tusky.util.JpegMetadataStripper;
 import com.keylesspalace.tusky.util.Log;
-import com.keylesspalace.tusky.util.SpanUtils;
+import com.keylesspalace.tusky.util.MediaThumbnailTask;
+import com.keylesspalace.tusky.util.MediaUploadQueue;
+import com.keylesspalace.tusky.util.MentionHighlighter;
+import com.keylesspalace.tusky.util.ProgressImageView;
 import com.keylesspalace.tusky.util.ThemeUtils;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -99,6 +99,9 @@ import butterknife.ButterKnife;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
 import okhttp3.RequestBody;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
 import retrofit2.Call;
 import retrofit2.Callback;
 import retrofit2.Response;
@@ -113,10 +116,13 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
     private static final int MEDIA_SIZE_UNKNOWN = -1;
     private static final int COMPOSE_SUCCESS = -1;
     private static final int THUMBNAIL_SIZE = 128; // pixels
+    /* Downsizing an image can take tens of megabytes, so only a couple are done at once. */
+    private static final int MAX_MEDIA_PREPARES = 2;
+    private static final int MAX_MEDIA_UPLOADS = 2;
 
     private String inReplyToId;
     private ArrayList<QueuedMedia> mediaQueued;
-    private CountUpDownLatch waitForMediaLatch;
+    private MediaUploadQueue mediaUploadQueue;
     private boolean showMarkSensitive;
     private String statusVisibility;     // The current values of the options that will be applied
     private boolean statusMarkSensitive; // to the status being composed.
@@ -127,6 +133,8 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
     private Uri photoUploadUri;
     // this only exists when a status is trying to be sent, but uploads are still occurring
     private ProgressDialog finishingUploadDialog;
+    /* What sends the status once the media's uploaded, if it's waiting for it. */
+    private Runnable onMediaReady;
     @BindView(R.id.compose_edit_field)
     EditTextTyped textEditor;
     @BindView(R.id.compose_media_preview_bar) LinearLayout mediaPreviewBar;
@@ -147,21 +155,25 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         }
 
         enum ReadyStage {
+            STRIPPING_METADATA,
             DOWNSIZING,
+            WAITING_TO_UPLOAD,
             UPLOADING
         }
 
         Type type;
-        ImageView preview;
+        ProgressImageView preview;
         Uri uri;
         String id;
         Call<Media> uploadRequest;
+        Runnable pendingUpload;
         URLSpan uploadUrl;
         ReadyStage readyStage;
         byte[] content;
+        File strippedFile;
         long mediaSize;
 
-        QueuedMedia(Type type, Uri uri, ImageView preview, long mediaSize) {
+        QueuedMedia(Type type, Uri uri, ProgressImageView preview, long mediaSize) {
             this.type = type;
             this.uri = uri;
             this.preview = preview;
@@ -179,7 +191,10 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         SavedQueuedMedia(QueuedMedia.Type type, Uri uri, ImageView view, long mediaSize) {
             this.type = type;
             this.uri = uri;
-            this.preview = ((BitmapDrawable) view.getDrawable()).getBitmap();
+            // It's still the placeholder if its thumbnail wasn't made yet.
+            if (view.getDrawable() instanceof BitmapDrawable) {
+                this.preview = ((BitmapDrawable) view.getDrawable()).getBitmap();
+            }
             this.mediaSize = mediaSize;
         }
 
@@ -339,11 +354,15 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
 
         // Setup the main text field.
         setEditTextMimeTypes(null); // new String[] { "image/gif", "image/webp" }
-        final int mentionColour = ThemeUtils.getColor(this, R.attr.compose_mention_color);
-        SpanUtils.highlightSpans(textEditor.getText(), mentionColour);
+        int mentionColour = ThemeUtils.getColor(this, R.attr.compose_mention_color);
+        /* Only the words around each edit are coloured again, rather than the whole text on every
+         * keystroke. */
+        final MentionHighlighter highlighter = new MentionHighlighter(mentionColour);
+        highlighter.highlightAll(textEditor.getText());
         textEditor.addTextChangedListener(new TextWatcher() {
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
+                highlighter.onTextChanged(s, start, before, count);
                 updateVisibleCharactersLeft();
             }
 
@@ -352,7 +371,7 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
 
             @Override
             public void afterTextChanged(Editable editable) {
-                SpanUtils.highlightSpans(editable, mentionColour);
+                highlighter.afterTextChanged(editable);
             }
         });
 
@@ -388,7 +407,7 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
 
         // Initialise the empty media queue state.
         mediaQueued = new ArrayList<>();
-        waitForMediaLatch = new CountUpDownLatch();
+        mediaUploadQueue = new MediaUploadQueue(MAX_MEDIA_PREPARES, MAX_MEDIA_UPLOADS);
         statusAlreadyInFlight = false;
 
         // These can only be added after everything affected by the media queue is initialized.
@@ -735,50 +754,41 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
     }
 
     private void readyStatus(final String visibility, final boolean sensitive) {
+        if (mediaUploadQueue.isIdle()) {
+            onReadySuccess(visibility, sensitive);
+            return;
+        }
         finishingUploadDialog = ProgressDialog.show(
                 this, getString(R.string.dialog_title_finishing_media_upload),
                 getString(R.string.dialog_message_uploading_media), true, true);
-        final AsyncTask<Void, Void, Boolean> waitForMediaTask =
-                new AsyncTask<Void, Void, Boolean>() {
-                    @Override
-                    protected Boolean doInBackground(Void... params) {
-                        try {
-                            waitForMediaLatch.await();
-                        } catch (InterruptedException e) {
-                            return false;
-                        }
-                        return true;
-                    }
-
-                    @Override
-                    protected void onPostExecute(Boolean successful) {
-                        super.onPostExecute(successful);
-                        finishingUploadDialog.dismiss();
-                        finishingUploadDialog = null;
-                        if (successful) {
-                            onReadySuccess(visibility, sensitive);
-                        } else {
-                            onReadyFailure(visibility, sensitive);
-                        }
-                    }
-
-                    @Override
-                    protected void onCancelled() {
-                        removeAllMediaFromQueue();
-                        setStateToNotReadying();
-                        super.onCancelled();
-                    }
-                };
+        /* Sent as soon as the last of the media is uploaded, rather than having a thread wait
+         * for it. */
+        onMediaReady = new Runnable() {
+            @Override
+            public void run() {
+                onMediaReady = null;
+                finishingUploadDialog.dismiss();
+                finishingUploadDialog = null;
+                onReadySuccess(visibility, sensitive);
+            }
+        };
+        mediaUploadQueue.whenIdle(onMediaReady);
         finishingUploadDialog.setOnCancelListener(new DialogInterface.OnCancelListener() {
             @Override
             public void onCancel(DialogInterface dialog) {
-                /* Generating an interrupt by passing true here is important because an interrupt
-                 * exception is the only thing that will kick the latch out of its waiting loop
-                 * early. */
-                waitForMediaTask.cancel(true);
+                stopWaitingForMedia();
+                finishingUploadDialog = null;
+                removeAllMediaFromQueue();
+                setStateToNotReadying();
             }
         });
-        waitForMediaTask.execute();
+    }
+
+    private void stopWaitingForMedia() {
+        if (onMediaReady != null) {
+            mediaUploadQueue.removeIdleListener(onMediaReady);
+            onMediaReady = null;
+        }
     }
 
     private void onReadySuccess(String visibility, boolean sensitive) {
@@ -802,17 +812,6 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         }
     }
 
-    private void onReadyFailure(final String visibility, final boolean sensitive) {
-        doErrorDialog(R.string.error_media_upload_sending, R.string.action_retry,
-                new View.OnClickListener() {
-                    @Override
-                    public void onClick(View v) {
-                        readyStatus(visibility, sensitive);
-                    }
-                });
-        setStateToNotReadying();
-    }
-
     private void onMediaPick() {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN &&
                 ContextCompat.checkSelfPermission(this, Manifest.permission.READ_EXTERNAL_STORAGE)
@@ -913,9 +912,12 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
                 R.attr.compose_media_button_disabled_tint);
     }
 
-    private void addMediaToQueue(QueuedMedia.Type type, Bitmap preview, Uri uri, long mediaSize) {
-        final QueuedMedia item = new QueuedMedia(type, uri, new ImageView(this), mediaSize);
-        ImageView view = item.preview;
+    /** @param preview its thumbnail, or null to have one made for it */
+    private void addMediaToQueue(QueuedMedia.Type type, @Nullable Bitmap preview, Uri uri,
+            long mediaSize) {
+        final QueuedMedia item = new QueuedMedia(type, uri, new ProgressImageView(this),
+                mediaSize);
+        ProgressImageView view = item.preview;
         Resources resources = getResources();
         int side = resources.getDimensionPixelSize(R.dimen.compose_media_preview_side);
         int margin = resources.getDimensionPixelSize(R.dimen.compose_media_preview_margin);
@@ -925,7 +927,14 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         layoutParams.setMargins(margin, 0, margin, marginBottom);
         view.setLayoutParams(layoutParams);
         view.setScaleType(ImageView.ScaleType.CENTER_CROP);
-        view.setImageBitmap(preview);
+        if (preview != null) {
+            view.setImageBitmap(preview);
+        } else {
+            view.setImageResource(ThemeUtils.getDrawableId(this,
+                    R.attr.media_preview_unloaded_drawable, android.R.color.black));
+            makeThumbnail(item);
+        }
+        view.setProgress(0);
 
         view.setOnClickListener(new View.OnClickListener() {
             @Override
@@ -954,14 +963,39 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         if (queuedCount >= 1) {
             showMarkSensitive(true);
         }
-        waitForMediaLatch.countUp();
-        if (mediaSize > STATUS_MEDIA_SIZE_LIMIT && type == QueuedMedia.Type.IMAGE) {
+        mediaUploadQueue.add();
+        if (type == QueuedMedia.Type.IMAGE
+                && "image/jpeg".equals(getContentResolver().getType(uri))) {
+            stripMetadata(item);
+        } else if (mediaSize > STATUS_MEDIA_SIZE_LIMIT && type == QueuedMedia.Type.IMAGE) {
             downsizeMedia(item);
         } else {
-            uploadMedia(item);
+            enqueueUpload(item);
         }
     }
 
+    /* Made in the background, as decoding even part of a big photo or a video's frame takes a
+     * while. */
+    private void makeThumbnail(final QueuedMedia item) {
+        new MediaThumbnailTask(this, item.type == QueuedMedia.Type.VIDEO, THUMBNAIL_SIZE,
+                new MediaThumbnailTask.Listener() {
+                    @Override
+                    public void onSuccess(Bitmap thumbnail) {
+                        if (mediaQueued.contains(item)) {
+                            item.preview.setImageBitmap(thumbnail);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure() {
+                        if (mediaQueued.contains(item)) {
+                            displayTransientError(R.string.error_media_upload_opening);
+                            removeMediaFromQueue(item);
+                        }
+                    }
+        }).executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR, item.uri);
+    }
+
     private void removeMediaFromQueue(QueuedMedia item) {
         mediaPreviewBar.removeView(item.preview);
         mediaQueued.remove(item);
@@ -993,6 +1027,68 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         }
     }
 
+    /* Photos can say where and when they were taken, so that's taken out of them before they're
+     * uploaded, even the ones small enough to go as they are. It's done without decoding them, so
+     * it costs next to nothing, and a big one that fits once it's stripped isn't re-encoded. */
+    private void stripMetadata(final QueuedMedia item) {
+        item.readyStage = QueuedMedia.ReadyStage.STRIPPING_METADATA;
+        final ContentResolver contentResolver = getContentResolver();
+        final File directory = new File(getCacheDir(), "upload");
+
+        new AsyncTask<Void, Void, File>() {
+            @Override
+            protected File doInBackground(Void... params) {
+                File file = null;
+                BufferedSource source = null;
+                BufferedSink sink = null;
+                try {
+                    InputStream stream = contentResolver.openInputStream(item.uri);
+                    if (stream == null) {
+                        return null;
+                    }
+                    source = Okio.buffer(Okio.source(stream));
+                    if (!directory.isDirectory() && !directory.mkdirs()) {
+                        return null;
+                    }
+                    file = File.createTempFile("media", ".jpg", directory);
+                    sink = Okio.buffer(Okio.sink(file));
+                    JpegMetadataStripper.strip(source, sink);
+                    sink.close();
+                    sink = null;
+                    return file;
+                } catch (IOException e) {
+                    Log.d(TAG, "Couldn't strip the metadata. " + e.getMessage());
+                    if (file != null) {
+                        file.delete();
+                    }
+                    return null;
+                } finally {
+                    IOUtils.closeQuietly(source);
+                    IOUtils.closeQuietly(sink);
+                }
+            }
+
+            @Override
+            protected void onPostExecute(File file) {
+                if (!mediaQueued.contains(item)) {
+                    // It was removed while it was being stripped.
+                    if (file != null) {
+                        file.delete();
+                    }
+                } else if (file == null) {
+                    // Re-encoding it leaves the metadata behind, too.
+                    downsizeMedia(item);
+                } else if (file.length() <= STATUS_MEDIA_SIZE_LIMIT) {
+                    item.strippedFile = file;
+                    enqueueUpload(item);
+                } else {
+                    file.delete();
+                    downsizeMedia(item);
+                }
+            }
+        }.executeOnExecutor(mediaUploadQueue.getPrepareExecutor());
+    }
+
     private void downsizeMedia(final QueuedMedia item) {
         item.readyStage = QueuedMedia.ReadyStage.DOWNSIZING;
 
@@ -1000,15 +1096,20 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
                 new DownsizeImageTask.Listener() {
                     @Override
                     public void onSuccess(List<byte[]> contentList) {
-                        item.content = contentList.get(0);
-                        uploadMedia(item);
+                        // It could have been removed while it was being downsized.
+                        if (mediaQueued.contains(item)) {
+                            item.content = contentList.get(0);
+                            enqueueUpload(item);
+                        }
                     }
 
                     @Override
                     public void onFailure() {
-                        onMediaDownsizeFailure(item);
+                        if (mediaQueued.contains(item)) {
+                            onMediaDownsizeFailure(item);
+                        }
                     }
-        }).execute(item.uri);
+        }).executeOnExecutor(mediaUploadQueue.getPrepareExecutor(), item.uri);
     }
 
     private void onMediaDownsizeFailure(QueuedMedia item) {
@@ -1026,20 +1127,15 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         return new String(chars);
     }
 
-    @Nullable
-    private static byte[] inputStreamGetBytes(InputStream stream) {
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-        int read;
-        byte[] data = new byte[16384];
-        try {
-            while ((read = stream.read(data, 0, data.length)) != -1) {
-                buffer.write(data, 0, read);
+    private void enqueueUpload(final QueuedMedia item) {
+        item.readyStage = QueuedMedia.ReadyStage.WAITING_TO_UPLOAD;
+        item.pendingUpload = new Runnable() {
+            @Override
+            public void run() {
+                uploadMedia(item);
             }
-            buffer.flush();
-        } catch (IOException e) {
-            return null;
-        }
-        return buffer.toByteArray();
+        };
+        mediaUploadQueue.enqueueUpload(item.pendingUpload);
     }
 
     private void uploadMedia(final QueuedMedia item) {
@@ -1054,26 +1150,34 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
                 randomAlphanumericString(10),
                 fileExtension);
 
-        byte[] content = item.content;
-
-        if (content == null) {
-            InputStream stream;
-
-            try {
-                stream = getContentResolver().openInputStream(item.uri);
-            } catch (FileNotFoundException e) {
-                return;
-            }
-
-            content = inputStreamGetBytes(stream);
-            IOUtils.closeQuietly(stream);
-
-            if (content == null) {
-                return;
+        final ProgressImageView preview = item.preview;
+        ProgressRequestBody.UploadListener listener = new ProgressRequestBody.UploadListener() {
+            @Override
+            public void onProgress(long bytesWritten, long contentLength) {
+                if (contentLength <= 0) {
+                    return;
+                }
+                final int progress = (int) (100 * bytesWritten / contentLength);
+                preview.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        preview.setProgress(progress);
+                    }
+                });
             }
+        };
+        /* Streamed from wherever it is as it's sent, so even a big video never has to fit in
+         * memory. */
+        RequestBody requestFile;
+        MediaType mediaType = MediaType.parse(mimeType);
+        if (item.content != null) {
+            requestFile = ProgressRequestBody.create(mediaType, item.content, listener);
+        } else if (item.strippedFile != null) {
+            requestFile = ProgressRequestBody.create(mediaType, item.strippedFile, listener);
+        } else {
+            requestFile = ProgressRequestBody.create(getContentResolver(), item.uri, mediaType,
+                    item.mediaSize, listener);
         }
-
-        RequestBody requestFile = RequestBody.create(MediaType.parse(mimeType), content);
         MultipartBody.Part body = MultipartBody.Part.createFormData("file", filename, requestFile);
 
         item.uploadRequest = mastodonAPI.uploadMedia(body);
@@ -1081,6 +1185,8 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         item.uploadRequest.enqueue(new Callback<Media>() {
             @Override
             public void onResponse(Call<Media> call, retrofit2.Response<Media> response) {
+                mediaUploadQueue.onUploadFinished();
+                deleteStrippedFile(item);
                 if (response.isSuccessful()) {
                     onUploadSuccess(item, response.body());
                 } else {
@@ -1091,14 +1197,17 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
 
             @Override
             public void onFailure(Call<Media> call, Throwable t) {
+                mediaUploadQueue.onUploadFinished();
+                deleteStrippedFile(item);
                 Log.d(TAG, t.getMessage());
-                onUploadFailure(item, false);
+                onUploadFailure(item, call.isCanceled());
             }
         });
     }
 
     private void onUploadSuccess(final QueuedMedia item, Media media) {
         item.id = media.id;
+        item.preview.setProgress(ProgressImageView.NO_PROGRESS);
 
         /* Add the upload URL to the text field. Also, keep a reference to the span so if the user
          * chooses to remove the media, the URL is also automatically removed. */
@@ -1110,15 +1219,19 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
         builder.setSpan(item.uploadUrl, 0, end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
         textEditor.append(builder);
 
-        waitForMediaLatch.countDown();
+        mediaUploadQueue.finish();
     }
 
     private void onUploadFailure(QueuedMedia item, boolean isCanceled) {
-        if (!isCanceled) {
-            /* if the upload was voluntarily cancelled, such as if the user clicked on it to remove
-             * it from the queue, then don't display this error message. */
-            displayTransientError(R.string.error_media_upload_sending);
+        if (isCanceled) {
+            /* If the upload was voluntarily cancelled, such as if the user clicked on it to remove
+             * it from the queue, then it's already been removed and there's no error to show. */
+            return;
         }
+        displayTransientError(R.string.error_media_upload_sending);
+        /* The dialog's cancel listener is only called later, by which time removing this could
+         * have made it look like all the media's ready. */
+        stopWaitingForMedia();
         if (finishingUploadDialog != null) {
             finishingUploadDialog.cancel();
         }
@@ -1126,13 +1239,23 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
     }
 
     private void cancelReadyingMedia(QueuedMedia item) {
-        if (item.readyStage == QueuedMedia.ReadyStage.UPLOADING) {
+        if (item.readyStage == QueuedMedia.ReadyStage.WAITING_TO_UPLOAD) {
+            mediaUploadQueue.removeUpload(item.pendingUpload);
+            deleteStrippedFile(item);
+        } else if (item.readyStage == QueuedMedia.ReadyStage.UPLOADING) {
             item.uploadRequest.cancel();
         }
         if (item.id == null) {
             /* The presence of an upload id is used to detect if it finished uploading or not, to
-             * prevent counting down twice on the same media item. */
-            waitForMediaLatch.countDown();
+             * prevent counting it as done twice. */
+            mediaUploadQueue.finish();
+        }
+    }
+
+    private static void deleteStrippedFile(QueuedMedia item) {
+        if (item.strippedFile != null) {
+            item.strippedFile.delete();
+            item.strippedFile = null;
         }
     }
 
@@ -1183,36 +1306,11 @@ public class  ComposeActivity extends BaseActivity implements ComposeOptionsFrag
                         displayTransientError(R.string.error_media_upload_image_or_video);
                         return;
                     }
-                    MediaMetadataRetriever retriever = new MediaMetadataRetriever();
-                    retriever.setDataSource(this, uri);
-                    Bitmap source = retriever.getFrameAtTime();
-                    Bitmap bitmap = ThumbnailUtils.extractThumbnail(source, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
-                    source.recycle();
-                    addMediaToQueue(QueuedMedia.Type.VIDEO, bitmap, uri, mediaSize);
+                    addMediaToQueue(QueuedMedia.Type.VIDEO, null, uri, mediaSize);
                     break;
                 }
                 case "image": {
-                    InputStream stream;
-                    try {
-                        stream = contentResolver.openInputStream(uri);
-                    } catch (FileNotFoundException e) {
-                        displayTransientError(R.string.error_media_upload_opening);
-                        return;
-                    }
-
-                    Bitmap source = BitmapFactory.decodeStream(stream);
-                    Bitmap bitmap = ThumbnailUtils.extractThumbnail(source, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
-                    source.recycle();
-                    try {
-                        if (stream != null) {
-                            stream.close();
-                        }
-                    } catch (IOException e) {
-                        bitmap.recycle();
-                        displayTransientError(R.string.error_media_upload_opening);
-                        return;
-                    }
-                    addMediaToQueue(QueuedMedia.Type.IMAGE, bitmap, uri, mediaSize);
+                    addMediaToQueue(QueuedMedia.Type.IMAGE, null, uri, mediaSize);
                     break;
                 }
                 default: {
@@ -167,7 +167,7 @@ public class ReportActivity extends BaseActivity {
                 for (Status status : statusList) {
                     if (status.reblog == null) {
                         ReportAdapter.ReportStatus item = new ReportAdapter.ReportStatus(
-                                status.id, status.content, false);
+                                status.id, status.getContent(), false);
                         itemList.add(item);
                     }
                 }
@@ -16,19 +16,84 @@
 package com.keylesspalace.tusky;
 
 import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
 import android.net.Uri;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.text.Spanned;
+import android.text.TextUtils;
 
+import com.emojione.Emojione;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.jakewharton.picasso.OkHttp3Downloader;
-import com.keylesspalace.tusky.notifications.MqttNotification;
+import com.keylesspalace.tusky.db.TimelineStore;
+import com.keylesspalace.tusky.json.SpannedTypeAdapter;
+import com.keylesspalace.tusky.json.StringWithEmoji;
+import com.keylesspalace.tusky.json.StringWithEmojiTypeAdapter;
+import com.keylesspalace.tusky.network.ApiCache;
+import com.keylesspalace.tusky.network.MastodonAPI;
+import com.keylesspalace.tusky.network.MastodonStream;
+import com.keylesspalace.tusky.network.VideoCacheProxy;
+import com.keylesspalace.tusky.util.MediaCache;
+import com.keylesspalace.tusky.util.MediaPreviewLoader;
+import com.keylesspalace.tusky.util.OkHttpUtils;
+import com.keylesspalace.tusky.util.StatusContentCache;
 import com.squareup.picasso.Picasso;
 
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
 public class TuskyApplication extends Application {
+    private static final long API_CACHE_SIZE = 10 * 1024 * 1024; // bytes
+    private static final long MEDIA_CACHE_SIZE = 50 * 1024 * 1024; // bytes
+
+    private OkHttpClient okHttpClient;
+    private Gson gson;
+    private ApiCache apiCache;
+    private MediaCache mediaCache;
+    private VideoCacheProxy videoCacheProxy;
+    private TimelineStore timelineStore;
+    private OkHttpClient mastodonClient;
+    private Retrofit mastodonRetrofit;
+    private MastodonAPI mastodonAPI;
+    private String mastodonApiDomain;
+    private Interceptor authInterceptor;
+    private OkHttpClient streamingClient;
+    private Executor mainThreadExecutor;
+    private MastodonStream userStream;
+    private String userStreamDomain;
+    private volatile String domain;
+    private volatile String accessToken;
+    /* SharedPreferences only keeps weak references to its listeners, so this has to be held. */
+    private SharedPreferences.OnSharedPreferenceChangeListener loginListener;
+
     @Override
     public void onCreate() {
         super.onCreate();
         // Initialize Picasso configuration
         Picasso.Builder builder = new Picasso.Builder(this);
-        builder.downloader(new OkHttp3Downloader(this));
+        OkHttp3Downloader downloader = new OkHttp3Downloader(this);
+        builder.downloader(downloader);
+        MediaPreviewLoader.register(builder, downloader);
         if (BuildConfig.DEBUG) {
             builder.listener(new Picasso.Listener() {
                 @Override
@@ -47,5 +112,226 @@ public class TuskyApplication extends Application {
         if (BuildConfig.DEBUG) {
             Picasso.with(this).setLoggingEnabled(true);
         }
+
+        /* Keep the login details in memory, so the API client doesn't have to go to the
+         * preferences on every request. They're refreshed whenever a login or logout writes them. */
+        SharedPreferences preferences = getSharedPreferences(
+                getString(R.string.preferences_file_key), Context.MODE_PRIVATE);
+        domain = preferences.getString("domain", null);
+        accessToken = preferences.getString("accessToken", null);
+        loginListener = new SharedPreferences.OnSharedPreferenceChangeListener() {
+            @Override
+            public void onSharedPreferenceChanged(SharedPreferences preferences, String key) {
+                if ("domain".equals(key)) {
+                    domain = preferences.getString("domain", null);
+                } else if ("accessToken".equals(key)) {
+                    accessToken = preferences.getString("accessToken", null);
+                    restartUserStream();
+                    StatusContentCache.clear();
+                    /* Responses and timelines for the old account mustn't be shown to whoever
+                     * logs in next. */
+                    AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            getApiCache().evictAll();
+                            getTimelineStore().clear();
+                        }
+                    });
+                }
+            }
+        };
+        preferences.registerOnSharedPreferenceChangeListener(loginListener);
+
+        // Read the emoji table now, rather than when the first status is shown.
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                Emojione.load();
+            }
+        });
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        MediaPreviewLoader.trimMemory();
+        if (level == TRIM_MEMORY_UI_HIDDEN) {
+            // A good point to see how much the caches saved, as the app's been left.
+            synchronized (this) {
+                if (apiCache != null) {
+                    apiCache.logStatistics();
+                }
+                if (videoCacheProxy != null) {
+                    videoCacheProxy.logStatistics();
+                }
+            }
+        }
+    }
+
+    /**
+     * The client shared by every part of the app that talks to a server. Sharing it means they
+     * share one connection pool, so moving between screens doesn't cost a new TLS handshake.
+     */
+    public synchronized OkHttpClient getOkHttpClient() {
+        if (okHttpClient == null) {
+            okHttpClient = OkHttpUtils.getCompatibleClient();
+        }
+        return okHttpClient;
+    }
+
+    public synchronized Gson getGson() {
+        if (gson == null) {
+            gson = createGsonBuilder().create();
+        }
+        return gson;
+    }
+
+    /* What's read from the API, and what's stored of it, are read and written the same way. */
+    private static GsonBuilder createGsonBuilder() {
+        return new GsonBuilder()
+                .registerTypeAdapter(Spanned.class, new SpannedTypeAdapter())
+                .registerTypeAdapter(StringWithEmoji.class, new StringWithEmojiTypeAdapter());
+    }
+
+    public synchronized ApiCache getApiCache() {
+        if (apiCache == null) {
+            apiCache = new ApiCache(new File(getCacheDir(), "api"), API_CACHE_SIZE);
+        }
+        return apiCache;
+    }
+
+    /** Where the media viewers keep what they show, and what's prefetched for them. */
+    public synchronized MediaCache getMediaCache() {
+        if (mediaCache == null) {
+            mediaCache = new MediaCache(new File(getCacheDir(), "media"), MEDIA_CACHE_SIZE,
+                    getOkHttpClient());
+        }
+        return mediaCache;
+    }
+
+    /**
+     * What videos are played through, so they're kept in the media cache. It's shared, so how much
+     * it's saved is counted across every video played, but has to be started before it's used.
+     */
+    public synchronized VideoCacheProxy getVideoCacheProxy() {
+        if (videoCacheProxy == null) {
+            videoCacheProxy = new VideoCacheProxy(getOkHttpClient(), getMediaCache());
+        }
+        return videoCacheProxy;
+    }
+
+    public synchronized TimelineStore getTimelineStore() {
+        if (timelineStore == null) {
+            timelineStore = new TimelineStore(this, createGsonBuilder());
+        }
+        return timelineStore;
+    }
+
+    /**
+     * Gets the API for the instance that's currently logged in to. It's only rebuilt when the
+     * instance changes, callers that need to cancel their requests should wrap it in a
+     * {@link com.keylesspalace.tusky.network.CallScope}.
+     */
+    public synchronized MastodonAPI getMastodonAPI() {
+        String currentDomain = domain;
+        if (mastodonAPI == null || !TextUtils.equals(currentDomain, mastodonApiDomain)) {
+            ApiCache cache = getApiCache();
+            mastodonClient = getOkHttpClient().newBuilder()
+                    .cache(cache.getCache())
+                    .addInterceptor(cache.getStatisticsInterceptor())
+                    .addInterceptor(getAuthInterceptor())
+                    .build();
+
+            mastodonRetrofit = new Retrofit.Builder()
+                    .baseUrl("https://" + currentDomain)
+                    .client(mastodonClient)
+                    .addConverterFactory(GsonConverterFactory.create(getGson()))
+                    .build();
+
+            mastodonAPI = mastodonRetrofit.create(MastodonAPI.class);
+            mastodonApiDomain = currentDomain;
+        }
+        return mastodonAPI;
+    }
+
+    private synchronized Interceptor getAuthInterceptor() {
+        if (authInterceptor == null) {
+            authInterceptor = new Interceptor() {
+                @Override
+                public Response intercept(Chain chain) throws IOException {
+                    Request originalRequest = chain.request();
+
+                    Request.Builder builder = originalRequest.newBuilder();
+                    String token = accessToken;
+                    if (token != null) {
+                        builder.header("Authorization", String.format("Bearer %s", token));
+                    }
+                    Request newRequest = builder.build();
+
+                    return chain.proceed(newRequest);
+                }
+            };
+        }
+        return authInterceptor;
+    }
+
+    /**
+     * Gets the stream of the logged in user's home timeline and notifications. It's shared, so the
+     * timeline and notifications tabs use one connection between them.
+     */
+    public synchronized MastodonStream getUserStream() {
+        String currentDomain = domain;
+        if (userStream == null || !TextUtils.equals(currentDomain, userStreamDomain)) {
+            userStream = createStream("user", null);
+            userStreamDomain = currentDomain;
+        }
+        return userStream;
+    }
+
+    /**
+     * Creates a stream of the instance that's currently logged in to, such as "public/local", or
+     * "hashtag" with a tag.
+     */
+    public synchronized MastodonStream createStream(String stream, @Nullable String tag) {
+        if (streamingClient == null) {
+            // Streams stay open indefinitely and are only sent a heartbeat now and then.
+            streamingClient = getOkHttpClient().newBuilder()
+                    .readTimeout(0, TimeUnit.MILLISECONDS)
+                    .addInterceptor(getAuthInterceptor())
+                    .build();
+            final Handler mainHandler = new Handler(Looper.getMainLooper());
+            mainThreadExecutor = new Executor() {
+                @Override
+                public void execute(Runnable command) {
+                    mainHandler.post(command);
+                }
+            };
+        }
+        return new MastodonStream(streamingClient, MastodonStream.createUrl(domain, stream, tag),
+                getGson(), mainThreadExecutor);
+    }
+
+    private synchronized void restartUserStream() {
+        if (userStream != null) {
+            userStream.restart();
+        }
+    }
+
+    /**
+     * Enqueues a call made through the API, first handing the callback whatever response to it is
+     * already cached so a screen can be shown straight away, and then the up to date one.
+     *
+     * @param responseType the type the call's response is parsed into
+     */
+    public <T> void enqueueStaleWhileRevalidate(Call<T> call, Type responseType,
+            Callback<T> callback) {
+        OkHttpClient client;
+        Converter<ResponseBody, T> converter;
+        synchronized (this) {
+            getMastodonAPI();
+            client = mastodonClient;
+            converter = mastodonRetrofit.responseBodyConverter(responseType, new Annotation[0]);
+        }
+        getApiCache().enqueueStaleWhileRevalidate(client, converter, call, callback);
     }
-}
\ No newline at end of file
+}
@@ -25,14 +25,24 @@ import android.widget.MediaController;
 import android.widget.ProgressBar;
 import android.widget.VideoView;
 
+import com.keylesspalace.tusky.network.VideoCacheProxy;
+import com.keylesspalace.tusky.util.Log;
+import com.keylesspalace.tusky.util.MediaCache;
+
+import java.io.IOException;
+
 import butterknife.BindView;
 import butterknife.ButterKnife;
 
 public class ViewVideoActivity extends BaseActivity {
+    private static final String TAG = "ViewVideoActivity"; // logging tag
+
     @BindView(R.id.video_progress) ProgressBar progressBar;
     @BindView(R.id.video_player) VideoView videoView;
     @BindView(R.id.toolbar) Toolbar toolbar;
 
+    private MediaCache.Download prefetch;
+
     @Override
     public void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -51,7 +61,16 @@ public class ViewVideoActivity extends BaseActivity {
 
         String url = getIntent().getStringExtra("url");
 
-        videoView.setVideoPath(url);
+        /* Played through the proxy, so that looping it, seeking back in it, or watching it again
+         * doesn't download it again. */
+        VideoCacheProxy proxy = ((TuskyApplication) getApplication()).getVideoCacheProxy();
+        try {
+            proxy.start();
+            videoView.setVideoPath(proxy.getProxyUrl(url));
+        } catch (IOException e) {
+            Log.e(TAG, "Couldn't start the video cache. " + e.getMessage());
+            videoView.setVideoPath(url);
+        }
         MediaController controller = new MediaController(this);
         controller.setMediaPlayer(videoView);
         videoView.setMediaController(controller);
@@ -61,11 +80,30 @@ public class ViewVideoActivity extends BaseActivity {
             public void onPrepared(MediaPlayer mp) {
                 progressBar.setVisibility(View.GONE);
                 mp.setLooping(true);
+                startPrefetch();
             }
         });
         videoView.start();
     }
 
+    @Override
+    protected void onDestroy() {
+        if (prefetch != null) {
+            prefetch.cancel();
+        }
+        super.onDestroy();
+    }
+
+    /* Only once the video's playing, so the two don't compete. */
+    private void startPrefetch() {
+        String[] urls = getIntent().getStringArrayExtra("prefetchUrls");
+        boolean[] videos = getIntent().getBooleanArrayExtra("prefetchVideos");
+        if (prefetch == null && urls != null && videos != null) {
+            MediaCache cache = ((TuskyApplication) getApplication()).getMediaCache();
+            prefetch = cache.prefetch(urls, videos);
+        }
+    }
+
     @Override
     public boolean onOptionsItemSelected(MenuItem item) {
         switch (item.getItemId()) {
@@ -27,6 +27,7 @@ import java.util.List;
 public abstract class AccountAdapter extends RecyclerView.Adapter {
     List<Account> accountList;
     AccountActionListener accountActionListener;
+    @Nullable Object imageTag;
 
     AccountAdapter(AccountActionListener accountActionListener) {
         super();
@@ -34,6 +35,11 @@ public abstract class AccountAdapter extends RecyclerView.Adapter {
         this.accountActionListener = accountActionListener;
     }
 
+    /** @param imageTag the Picasso tag to load the images of the list with */
+    public void setImageTag(@Nullable Object imageTag) {
+        this.imageTag = imageTag;
+    }
+
     @Override
     public int getItemCount() {
         return accountList.size() + 1;
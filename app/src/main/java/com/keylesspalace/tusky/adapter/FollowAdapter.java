@@ -15,7 +15,7 @@
 
 package com.keylesspalace.tusky.adapter;
 
-import android.content.Context;
+import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -25,8 +25,8 @@ import android.widget.TextView;
 import com.keylesspalace.tusky.R;
 import com.keylesspalace.tusky.entity.Account;
 import com.keylesspalace.tusky.interfaces.AccountActionListener;
+import com.keylesspalace.tusky.util.AvatarLoader;
 import com.pkmmte.view.CircularImageView;
-import com.squareup.picasso.Picasso;
 
 /** Both for follows and following lists. */
 public class FollowAdapter extends AccountAdapter {
@@ -58,7 +58,7 @@ public class FollowAdapter extends AccountAdapter {
     public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position) {
         if (position < accountList.size()) {
             AccountViewHolder holder = (AccountViewHolder) viewHolder;
-            holder.setupWithAccount(accountList.get(position));
+            holder.setupWithAccount(accountList.get(position), imageTag);
             holder.setupActionListener(accountActionListener);
         }
     }
@@ -87,18 +87,13 @@ public class FollowAdapter extends AccountAdapter {
             avatar = (CircularImageView) itemView.findViewById(R.id.account_avatar);
         }
 
-        void setupWithAccount(Account account) {
+        void setupWithAccount(Account account, @Nullable Object imageTag) {
             id = account.id;
             String format = username.getContext().getString(R.string.status_username_format);
             String formattedUsername = String.format(format, account.username);
             username.setText(formattedUsername);
             displayName.setText(account.getDisplayName());
-            Context context = avatar.getContext();
-            Picasso.with(context)
-                    .load(account.avatar)
-                    .placeholder(R.drawable.avatar_default)
-                    .error(R.drawable.avatar_error)
-                    .into(avatar);
+            AvatarLoader.load(avatar, account.avatar, imageTag);
         }
 
         void setupActionListener(final AccountActionListener listener) {
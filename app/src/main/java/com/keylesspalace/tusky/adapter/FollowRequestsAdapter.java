@@ -15,6 +15,7 @@
 
 package com.keylesspalace.tusky.adapter;
 
+import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -25,8 +26,8 @@ import android.widget.TextView;
 import com.keylesspalace.tusky.interfaces.AccountActionListener;
 import com.keylesspalace.tusky.R;
 import com.keylesspalace.tusky.entity.Account;
+import com.keylesspalace.tusky.util.AvatarLoader;
 import com.pkmmte.view.CircularImageView;
-import com.squareup.picasso.Picasso;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
@@ -60,7 +61,7 @@ public class FollowRequestsAdapter extends AccountAdapter {
     public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position) {
         if (position < accountList.size()) {
             FollowRequestViewHolder holder = (FollowRequestViewHolder) viewHolder;
-            holder.setupWithAccount(accountList.get(position));
+            holder.setupWithAccount(accountList.get(position), imageTag);
             holder.setupActionListener(accountActionListener);
         }
     }
@@ -88,17 +89,13 @@ public class FollowRequestsAdapter extends AccountAdapter {
             ButterKnife.bind(this, itemView);
         }
 
-        void setupWithAccount(Account account) {
+        void setupWithAccount(Account account, @Nullable Object imageTag) {
             id = account.id;
             displayName.setText(account.getDisplayName());
             String format = username.getContext().getString(R.string.status_username_format);
             String formattedUsername = String.format(format, account.username);
             username.setText(formattedUsername);
-            Picasso.with(avatar.getContext())
-                    .load(account.avatar)
-                    .error(R.drawable.avatar_error)
-                    .placeholder(R.drawable.avatar_default)
-                    .into(avatar);
+            AvatarLoader.load(avatar, account.avatar, imageTag);
         }
 
         void setupActionListener(final AccountActionListener listener) {
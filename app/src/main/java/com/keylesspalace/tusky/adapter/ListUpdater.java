@@ -0,0 +1,136 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.adapter;
+
+import android.os.AsyncTask;
+import android.support.annotation.Nullable;
+import android.support.v7.util.DiffUtil;
+import android.support.v7.widget.RecyclerView;
+import android.text.TextUtils;
+
+import com.keylesspalace.tusky.entity.Status;
+import com.keylesspalace.tusky.util.ListMerge;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges newly fetched items into an adapter's list and works out what changed on a background
+ * thread, so only the rows that were actually inserted, removed or changed are rebound.
+ */
+class ListUpdater<T> {
+    interface Items<T> extends ListMerge.IdGetter<T> {
+        List<T> getItems();
+        void setItems(List<T> items);
+        boolean areContentsTheSame(T oldItem, T newItem);
+    }
+
+    private final RecyclerView.Adapter adapter;
+    private final Items<T> items;
+    /* Counts every change made to the list, so a result computed against an older version of it
+     * is never applied. */
+    private int version;
+
+    ListUpdater(RecyclerView.Adapter adapter, Items<T> items) {
+        this.adapter = adapter;
+        this.items = items;
+        version = 0;
+    }
+
+    /** Has to be called whenever the adapter changes its list itself. */
+    void onItemsChanged() {
+        version++;
+    }
+
+    /**
+     * @param onApplied run once the adapter shows the merged list, or null
+     */
+    void mergeNewer(final List<T> newer, @Nullable final Runnable onApplied) {
+        final List<T> snapshot = new ArrayList<>(items.getItems());
+        final int startVersion = version;
+        new AsyncTask<Void, Void, Update<T>>() {
+            @Override
+            protected Update<T> doInBackground(Void... params) {
+                return calculate(snapshot, newer);
+            }
+
+            @Override
+            protected void onPostExecute(Update<T> update) {
+                if (version != startVersion) {
+                    // It's out of date and rare enough that it's fine to just redo it here.
+                    update = calculate(new ArrayList<>(items.getItems()), newer);
+                }
+                version++;
+                items.setItems(update.merged);
+                update.diff.dispatchUpdatesTo(adapter);
+                if (onApplied != null) {
+                    onApplied.run();
+                }
+            }
+        }.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    private Update<T> calculate(final List<T> current, List<T> newer) {
+        final List<T> merged = ListMerge.mergeNewer(current, newer, items);
+        DiffUtil.DiffResult diff = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return current.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return merged.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return items.getId(current.get(oldItemPosition))
+                        .equals(items.getId(merged.get(newItemPosition)));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return items.areContentsTheSame(current.get(oldItemPosition),
+                        merged.get(newItemPosition));
+            }
+        }, false);
+        return new Update<>(merged, diff);
+    }
+
+    /**
+     * Statuses with the same id only differ in the parts of them that can be acted on, so that's
+     * all that needs comparing.
+     */
+    static boolean areContentsTheSame(Status oldStatus, Status newStatus) {
+        oldStatus = oldStatus.getActionableStatus();
+        newStatus = newStatus.getActionableStatus();
+        return oldStatus.reblogged == newStatus.reblogged
+                && oldStatus.favourited == newStatus.favourited
+                && TextUtils.equals(oldStatus.reblogsCount, newStatus.reblogsCount)
+                && TextUtils.equals(oldStatus.favouritesCount, newStatus.favouritesCount);
+    }
+
+    private static class Update<T> {
+        final List<T> merged;
+        final DiffUtil.DiffResult diff;
+
+        Update(List<T> merged, DiffUtil.DiffResult diff) {
+            this.merged = merged;
+            this.diff = diff;
+        }
+    }
+}
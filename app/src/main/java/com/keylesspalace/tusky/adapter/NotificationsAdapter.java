@@ -34,17 +34,21 @@ import com.keylesspalace.tusky.entity.Notification;
 import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.interfaces.AdapterItemRemover;
 import com.keylesspalace.tusky.interfaces.StatusActionListener;
-import com.squareup.picasso.Picasso;
+import com.keylesspalace.tusky.util.AvatarLoader;
+import com.keylesspalace.tusky.util.ImagePrefetcher;
+import com.keylesspalace.tusky.util.StatusContentCache;
 
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
-public class NotificationsAdapter extends RecyclerView.Adapter implements AdapterItemRemover {
+public class NotificationsAdapter extends RecyclerView.Adapter implements AdapterItemRemover,
+        ImagePrefetcher.ImageSource {
     private static final int VIEW_TYPE_MENTION = 0;
     private static final int VIEW_TYPE_FOOTER = 1;
     private static final int VIEW_TYPE_STATUS_NOTIFICATION = 2;
     private static final int VIEW_TYPE_FOLLOW = 3;
+    private static final int PRERENDER_AHEAD = 5; // notifications
 
     public enum FooterState {
         EMPTY,
@@ -56,6 +60,8 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
     private StatusActionListener statusListener;
     private NotificationActionListener notificationActionListener;
     private FooterState footerState = FooterState.END;
+    private ListUpdater<Notification> updater;
+    @Nullable private Object imageTag;
 
     public NotificationsAdapter(StatusActionListener statusListener,
             NotificationActionListener notificationActionListener) {
@@ -63,9 +69,40 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
         notifications = new ArrayList<>();
         this.statusListener = statusListener;
         this.notificationActionListener = notificationActionListener;
+        updater = new ListUpdater<>(this, new ListUpdater.Items<Notification>() {
+            @Override
+            public List<Notification> getItems() {
+                return notifications;
+            }
+
+            @Override
+            public void setItems(List<Notification> items) {
+                notifications = items;
+            }
+
+            @Override
+            public String getId(Notification notification) {
+                return notification.id;
+            }
+
+            @Override
+            public boolean areContentsTheSame(Notification oldNotification,
+                    Notification newNotification) {
+                if (oldNotification.status == null || newNotification.status == null) {
+                    return oldNotification.status == newNotification.status;
+                }
+                return ListUpdater.areContentsTheSame(oldNotification.status,
+                        newNotification.status);
+            }
+        });
     }
 
 
+    /** @param imageTag the Picasso tag to load the images of the list with */
+    public void setImageTag(@Nullable Object imageTag) {
+        this.imageTag = imageTag;
+    }
+
     public void setFooterState(FooterState newFooterState) {
         FooterState oldValue = footerState;
         footerState = newFooterState;
@@ -126,7 +163,7 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
                 case MENTION: {
                     StatusViewHolder holder = (StatusViewHolder) viewHolder;
                     Status status = notification.status;
-                    holder.setupWithStatus(status, statusListener);
+                    holder.setupWithStatus(status, statusListener, imageTag);
                     break;
                 }
                 case FAVOURITE:
@@ -140,11 +177,45 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
                 case FOLLOW: {
                     FollowViewHolder holder = (FollowViewHolder) viewHolder;
                     holder.setMessage(notification.account.getDisplayName(), notification.account.username,
-                            notification.account.avatar);
+                            notification.account.avatar, imageTag);
                     holder.setupButtons(notificationActionListener, notification.account.id);
                     break;
                 }
             }
+            prerenderAhead(position);
+        }
+    }
+
+    private void prerenderAhead(int position) {
+        int end = Math.min(position + 1 + PRERENDER_AHEAD, notifications.size());
+        List<Status> statuses = new ArrayList<>(PRERENDER_AHEAD);
+        for (int i = position + 1; i < end; i++) {
+            Status status = notifications.get(i).status;
+            if (status != null) {
+                statuses.add(status);
+            }
+        }
+        StatusContentCache.prerender(statuses);
+    }
+
+    @Override
+    public void getImageUrls(int position, List<String> avatarUrls, List<String> previewUrls) {
+        if (position >= notifications.size()) {
+            return;
+        }
+        Notification notification = notifications.get(position);
+        switch (notification.type) {
+            case MENTION: {
+                ImagePrefetcher.addImageUrls(notification.status, avatarUrls, previewUrls);
+                break;
+            }
+            case FOLLOW: {
+                String avatar = notification.account.avatar;
+                if (avatar != null && !avatar.isEmpty()) {
+                    avatarUrls.add(avatar);
+                }
+                break;
+            }
         }
     }
 
@@ -183,38 +254,50 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
     }
 
     public void update(List<Notification> newNotifications) {
+        update(newNotifications, null);
+    }
+
+    /**
+     * Puts a page of the newest notifications on top of the ones shown. The changes are worked out
+     * in the background, so they aren't shown until onApplied is run.
+     */
+    public void update(List<Notification> newNotifications, @Nullable Runnable onApplied) {
         if (newNotifications == null || newNotifications.isEmpty()) {
-            return;
-        }
-        if (notifications.isEmpty()) {
-            notifications = newNotifications;
-        } else {
-            int index = notifications.indexOf(newNotifications.get(newNotifications.size() - 1));
-            for (int i = 0; i < index; i++) {
-                notifications.remove(0);
-            }
-            int newIndex = newNotifications.indexOf(notifications.get(0));
-            if (newIndex == -1) {
-                notifications.addAll(0, newNotifications);
-            } else {
-                notifications.addAll(0, newNotifications.subList(0, newIndex));
+            if (onApplied != null) {
+                onApplied.run();
             }
+            return;
         }
-        notifyDataSetChanged();
+        updater.mergeNewer(newNotifications, onApplied);
     }
 
     public void addItems(List<Notification> new_notifications) {
+        updater.onItemsChanged();
         int end = notifications.size();
         notifications.addAll(new_notifications);
         notifyItemRangeInserted(end, new_notifications.size());
     }
 
+    /** Puts a notification that just came in on top, unless it's already shown. */
+    public void addNewest(Notification notification) {
+        for (Notification shown : notifications) {
+            if (shown.id.equals(notification.id)) {
+                return;
+            }
+        }
+        updater.onItemsChanged();
+        notifications.add(0, notification);
+        notifyItemInserted(0);
+    }
+
     public void removeItem(int position) {
+        updater.onItemsChanged();
         notifications.remove(position);
         notifyItemChanged(position);
     }
 
     public void removeAllByAccountId(String id) {
+        updater.onItemsChanged();
         for (int i = 0; i < notifications.size();) {
             Notification notification = notifications.get(i);
             if (id.equals(notification.account.id)) {
@@ -226,6 +309,20 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
         }
     }
 
+    /** Removes the notifications about a status that was deleted. */
+    public void removeAllByStatusId(String statusId) {
+        updater.onItemsChanged();
+        for (int i = 0; i < notifications.size();) {
+            Notification notification = notifications.get(i);
+            if (notification.status != null && statusId.equals(notification.status.id)) {
+                notifications.remove(i);
+                notifyItemRemoved(i);
+            } else {
+                i += 1;
+            }
+        }
+    }
+
     public interface NotificationActionListener {
         void onViewAccount(String id);
     }
@@ -244,7 +341,8 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
             avatar = (ImageView) itemView.findViewById(R.id.notification_avatar);
         }
 
-        void setMessage(String displayName, String username, String avatarUrl) {
+        void setMessage(String displayName, String username, String avatarUrl,
+                @Nullable Object imageTag) {
             Context context = message.getContext();
 
             String format = context.getString(R.string.notification_follow_format);
@@ -257,11 +355,7 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
 
             displayNameView.setText(displayName);
 
-            Picasso.with(context)
-                    .load(avatarUrl)
-                    .placeholder(R.drawable.avatar_default)
-                    .error(R.drawable.avatar_error)
-                    .into(avatar);
+            AvatarLoader.load(avatar, avatarUrl, imageTag);
         }
 
         void setupButtons(final NotificationActionListener listener, final String accountId) {
@@ -313,7 +407,7 @@ public class NotificationsAdapter extends RecyclerView.Adapter implements Adapte
             str.setSpan(new StyleSpan(Typeface.BOLD), 0, displayName.length(),
                     Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
             message.setText(str);
-            statusContent.setText(status.content);
+            statusContent.setText(status.getContent());
         }
 
         void setupButtons(final NotificationActionListener listener, final String accountId) {
@@ -16,7 +16,6 @@
 package com.keylesspalace.tusky.adapter;
 
 import android.content.Context;
-import android.preference.PreferenceManager;
 import android.support.annotation.Nullable;
 import android.support.v7.widget.RecyclerView;
 import android.text.Spanned;
@@ -28,11 +27,12 @@ import android.widget.TextView;
 import android.widget.ToggleButton;
 
 import com.keylesspalace.tusky.R;
-import com.keylesspalace.tusky.util.RoundedTransformation;
+import com.keylesspalace.tusky.util.AvatarLoader;
 import com.keylesspalace.tusky.interfaces.StatusActionListener;
 import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.util.DateUtils;
 import com.keylesspalace.tusky.util.LinkHelper;
+import com.keylesspalace.tusky.util.MediaPreviewLoader;
 import com.keylesspalace.tusky.util.ThemeUtils;
 import com.squareup.picasso.Picasso;
 import com.varunest.sparkbutton.SparkButton;
@@ -103,27 +103,13 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
         username.setText(usernameText);
     }
 
-    private void setContent(Spanned content, Status.Mention[] mentions,
-                            StatusActionListener listener) {
-        /* Redirect URLSpan's in the status content to the listener for viewing tag pages and
-         * account pages. */
-        Context context = this.content.getContext();
-        boolean useCustomTabs = PreferenceManager.getDefaultSharedPreferences(context)
-                .getBoolean("useCustomTabs", true);
-        LinkHelper.setClickableText(this.content, content, mentions, useCustomTabs, listener);
+    private void setContent(Spanned content, StatusActionListener listener) {
+        // Its tag and account links go to the listener, for viewing their pages.
+        LinkHelper.setClickableText(this.content, content, listener);
     }
 
-    private void setAvatar(String url) {
-        if (url.isEmpty()) {
-            return;
-        }
-        Context context = avatar.getContext();
-        Picasso.with(context)
-                .load(url)
-                .placeholder(R.drawable.avatar_default)
-                .error(R.drawable.avatar_error)
-                .transform(new RoundedTransformation(7, 0))
-                .into(avatar);
+    private void setAvatar(String url, @Nullable Object imageTag) {
+        AvatarLoader.load(avatar, url, imageTag);
     }
 
     private void setCreatedAt(@Nullable Date createdAt) {
@@ -188,7 +174,8 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
     }
 
     private void setMediaPreviews(final Status.MediaAttachment[] attachments,
-                                  boolean sensitive, final StatusActionListener listener) {
+                                  boolean sensitive, final StatusActionListener listener,
+                                  @Nullable Object imageTag) {
         final ImageView[] previews = {
                 mediaPreview0,
                 mediaPreview1,
@@ -208,18 +195,17 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
             previews[i].setVisibility(View.VISIBLE);
 
             if(previewUrl == null || previewUrl.isEmpty()) {
+                MediaPreviewLoader.release(previews[i]);
                 Picasso.with(context)
                         .load(mediaPreviewUnloadedId)
                         .into(previews[i]);
             } else {
-                Picasso.with(context)
-                        .load(previewUrl)
-                        .placeholder(mediaPreviewUnloadedId)
-                        .into(previews[i]);
+                MediaPreviewLoader.load(previews[i], previewUrl, mediaPreviewUnloadedId,
+                        imageTag);
             }
 
             final String url = attachments[i].url;
-            final Status.MediaAttachment.Type type = attachments[i].type;
+            final int index = i;
 
             if(url == null || url.isEmpty()) {
                 previews[i].setOnClickListener(null);
@@ -227,7 +213,7 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
                 previews[i].setOnClickListener(new View.OnClickListener() {
                     @Override
                     public void onClick(View v) {
-                        listener.onViewMedia(url, type);
+                        listener.onViewMedia(attachments, index);
                     }
                 });
             }
@@ -248,6 +234,7 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
 
         // Hide any of the placeholder previews beyond the ones set.
         for (int i = n; i < Status.MAX_MEDIA_ATTACHMENTS; i++) {
+            MediaPreviewLoader.release(previews[i]);
             previews[i].setVisibility(View.GONE);
         }
     }
@@ -356,13 +343,19 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
     }
 
     void setupWithStatus(Status status, StatusActionListener listener) {
+        setupWithStatus(status, listener, null);
+    }
+
+    /** @param imageTag the Picasso tag to load its images with, if any */
+    void setupWithStatus(Status status, StatusActionListener listener,
+            @Nullable Object imageTag) {
         Status realStatus = status.getActionableStatus();
 
         setDisplayName(realStatus.account.getDisplayName());
         setUsername(realStatus.account.username);
         setCreatedAt(realStatus.createdAt);
-        setContent(realStatus.content, realStatus.mentions, listener);
-        setAvatar(realStatus.account.avatar);
+        setContent(realStatus.getContent(), listener);
+        setAvatar(realStatus.account.avatar, imageTag);
         setReblogged(realStatus.reblogged);
         setFavourited(realStatus.favourited);
         String rebloggedByDisplayName = status.account.getDisplayName();
@@ -373,7 +366,7 @@ class StatusViewHolder extends RecyclerView.ViewHolder {
         }
         Status.MediaAttachment[] attachments = realStatus.attachments;
         boolean sensitive = realStatus.sensitive;
-        setMediaPreviews(attachments, sensitive, listener);
+        setMediaPreviews(attachments, sensitive, listener, imageTag);
         /* A status without attachments is sometimes still marked sensitive, so it's necessary to
          * check both whether there are any attachments and if it's marked sensitive. */
         if (!sensitive || attachments.length == 0) {
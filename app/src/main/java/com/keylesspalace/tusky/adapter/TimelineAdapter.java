@@ -20,18 +20,27 @@ import android.support.v7.widget.RecyclerView;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ProgressBar;
 
 import com.keylesspalace.tusky.R;
 import com.keylesspalace.tusky.interfaces.AdapterItemRemover;
 import com.keylesspalace.tusky.interfaces.StatusActionListener;
 import com.keylesspalace.tusky.entity.Status;
+import com.keylesspalace.tusky.util.ImagePrefetcher;
+import com.keylesspalace.tusky.util.StatusContentCache;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
-public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItemRemover {
+public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItemRemover,
+        ImagePrefetcher.ImageSource {
     private static final int VIEW_TYPE_STATUS = 0;
     private static final int VIEW_TYPE_FOOTER = 1;
+    private static final int VIEW_TYPE_PLACEHOLDER = 2;
+    private static final int PRERENDER_AHEAD = 5; // statuses
 
     public enum FooterState {
         EMPTY,
@@ -42,11 +51,39 @@ public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItem
     private List<Status> statuses;
     private StatusActionListener statusListener;
     private FooterState footerState = FooterState.END;
+    private ListUpdater<Status> updater;
+    private PlaceholderActionListener placeholderListener;
+    private Set<String> loadingPlaceholderIds;
+    @Nullable private Object imageTag;
 
-    public TimelineAdapter(StatusActionListener statusListener) {
+    public TimelineAdapter(StatusActionListener statusListener,
+            PlaceholderActionListener placeholderListener) {
         super();
         statuses = new ArrayList<>();
         this.statusListener = statusListener;
+        this.placeholderListener = placeholderListener;
+        loadingPlaceholderIds = new HashSet<>();
+        updater = new ListUpdater<>(this, new ListUpdater.Items<Status>() {
+            @Override
+            public List<Status> getItems() {
+                return statuses;
+            }
+
+            @Override
+            public void setItems(List<Status> items) {
+                statuses = items;
+            }
+
+            @Override
+            public String getId(Status status) {
+                return status.id;
+            }
+
+            @Override
+            public boolean areContentsTheSame(Status oldStatus, Status newStatus) {
+                return ListUpdater.areContentsTheSame(oldStatus, newStatus);
+            }
+        });
     }
 
     @Override
@@ -79,9 +116,19 @@ public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItem
                 }
                 return new FooterViewHolder(view);
             }
+            case VIEW_TYPE_PLACEHOLDER: {
+                View view = LayoutInflater.from(viewGroup.getContext())
+                        .inflate(R.layout.item_status_placeholder, viewGroup, false);
+                return new PlaceholderViewHolder(view);
+            }
         }
     }
 
+    /** @param imageTag the Picasso tag to load the images of the list with */
+    public void setImageTag(@Nullable Object imageTag) {
+        this.imageTag = imageTag;
+    }
+
     public void setFooterState(FooterState newFooterState) {
         FooterState oldValue = footerState;
         footerState = newFooterState;
@@ -93,9 +140,26 @@ public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItem
     @Override
     public void onBindViewHolder(RecyclerView.ViewHolder viewHolder, int position) {
         if (position < statuses.size()) {
-            StatusViewHolder holder = (StatusViewHolder) viewHolder;
             Status status = statuses.get(position);
-            holder.setupWithStatus(status, statusListener);
+            if (status.placeholder) {
+                PlaceholderViewHolder holder = (PlaceholderViewHolder) viewHolder;
+                holder.setup(placeholderListener, loadingPlaceholderIds.contains(status.id));
+            } else {
+                StatusViewHolder holder = (StatusViewHolder) viewHolder;
+                holder.setupWithStatus(status, statusListener, imageTag);
+            }
+            int end = Math.min(position + 1 + PRERENDER_AHEAD, statuses.size());
+            StatusContentCache.prerender(statuses.subList(position + 1, end));
+        }
+    }
+
+    @Override
+    public void getImageUrls(int position, List<String> avatarUrls, List<String> previewUrls) {
+        if (position < statuses.size()) {
+            Status status = statuses.get(position);
+            if (!status.placeholder) {
+                ImagePrefetcher.addImageUrls(status, avatarUrls, previewUrls);
+            }
         }
     }
 
@@ -108,47 +172,74 @@ public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItem
     public int getItemViewType(int position) {
         if (position == statuses.size()) {
             return VIEW_TYPE_FOOTER;
+        } else if (statuses.get(position).placeholder) {
+            return VIEW_TYPE_PLACEHOLDER;
         } else {
             return VIEW_TYPE_STATUS;
         }
     }
 
     public void update(List<Status> newStatuses) {
+        update(newStatuses, null);
+    }
+
+    /**
+     * Puts a page of the newest statuses on top of the ones shown. The changes are worked out
+     * in the background, so they aren't shown until onApplied is run.
+     */
+    public void update(List<Status> newStatuses, @Nullable Runnable onApplied) {
         if (newStatuses == null || newStatuses.isEmpty()) {
-            return;
-        }
-        if (statuses.isEmpty()) {
-            statuses = newStatuses;
-        } else {
-            int index = statuses.indexOf(newStatuses.get(newStatuses.size() - 1));
-            for (int i = 0; i < index; i++) {
-                statuses.remove(0);
-            }
-            int newIndex = newStatuses.indexOf(statuses.get(0));
-            if (newIndex == -1) {
-                statuses.addAll(0, newStatuses);
-            } else {
-                statuses.addAll(0, newStatuses.subList(0, newIndex));
+            if (onApplied != null) {
+                onApplied.run();
             }
+            return;
         }
-        notifyDataSetChanged();
+        updater.mergeNewer(newStatuses, onApplied);
     }
 
     public void addItems(List<Status> newStatuses) {
+        updater.onItemsChanged();
         int end = statuses.size();
         statuses.addAll(newStatuses);
         notifyItemRangeInserted(end, newStatuses.size());
     }
 
+    /** Puts a status that was just posted on top, unless it's already shown. */
+    public void addNewest(Status status) {
+        if (indexOf(status.id) != -1) {
+            return;
+        }
+        updater.onItemsChanged();
+        statuses.add(0, status);
+        notifyItemInserted(0);
+    }
+
     public void removeItem(int position) {
+        updater.onItemsChanged();
         statuses.remove(position);
         notifyItemRemoved(position);
     }
 
     public void removeAllByAccountId(String accountId) {
+        updater.onItemsChanged();
+        for (int i = 0; i < statuses.size();) {
+            Status status = statuses.get(i);
+            if (!status.placeholder && accountId.equals(status.account.id)) {
+                statuses.remove(i);
+                notifyItemRemoved(i);
+            } else {
+                i += 1;
+            }
+        }
+    }
+
+    /** Removes a deleted status, and any reblogs of it. */
+    public void removeAllByStatusId(String statusId) {
+        updater.onItemsChanged();
         for (int i = 0; i < statuses.size();) {
             Status status = statuses.get(i);
-            if (accountId.equals(status.account.id)) {
+            if (statusId.equals(status.id)
+                    || (status.reblog != null && statusId.equals(status.reblog.id))) {
                 statuses.remove(i);
                 notifyItemRemoved(i);
             } else {
@@ -157,6 +248,53 @@ public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItem
         }
     }
 
+    /**
+     * Swaps a placeholder for the statuses that were loaded in its place. If more may still be
+     * missing, a new placeholder is put after them.
+     */
+    public void replacePlaceholder(String placeholderId, List<Status> loaded,
+            @Nullable Status newPlaceholder) {
+        loadingPlaceholderIds.remove(placeholderId);
+        int position = indexOf(placeholderId);
+        if (position == -1) {
+            return;
+        }
+        updater.onItemsChanged();
+        statuses.remove(position);
+        notifyItemRemoved(position);
+        List<Status> inserted = new ArrayList<>(loaded);
+        if (newPlaceholder != null) {
+            inserted.add(newPlaceholder);
+        }
+        statuses.addAll(position, inserted);
+        notifyItemRangeInserted(position, inserted.size());
+    }
+
+    public boolean isPlaceholderLoading(String placeholderId) {
+        return loadingPlaceholderIds.contains(placeholderId);
+    }
+
+    public void setPlaceholderLoading(String placeholderId, boolean loading) {
+        if (loading) {
+            loadingPlaceholderIds.add(placeholderId);
+        } else {
+            loadingPlaceholderIds.remove(placeholderId);
+        }
+        int position = indexOf(placeholderId);
+        if (position != -1) {
+            notifyItemChanged(position);
+        }
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < statuses.size(); i++) {
+            if (statuses.get(i).id.equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     @Nullable
     public Status getItem(int position) {
         if (position >= 0 && position < statuses.size()) {
@@ -164,4 +302,33 @@ public class TimelineAdapter extends RecyclerView.Adapter implements AdapterItem
         }
         return null;
     }
+
+    public interface PlaceholderActionListener {
+        void onLoadPlaceholder(int position);
+    }
+
+    private static class PlaceholderViewHolder extends RecyclerView.ViewHolder {
+        private Button button;
+        private ProgressBar progressBar;
+
+        PlaceholderViewHolder(View itemView) {
+            super(itemView);
+            button = (Button) itemView.findViewById(R.id.placeholder_button);
+            progressBar = (ProgressBar) itemView.findViewById(R.id.placeholder_progress_bar);
+        }
+
+        void setup(final PlaceholderActionListener listener, boolean loading) {
+            button.setVisibility(loading ? View.INVISIBLE : View.VISIBLE);
+            progressBar.setVisibility(loading ? View.VISIBLE : View.GONE);
+            button.setOnClickListener(new View.OnClickListener() {
+                @Override
+                public void onClick(View v) {
+                    int position = getAdapterPosition();
+                    if (position != RecyclerView.NO_POSITION) {
+                        listener.onLoadPlaceholder(position);
+                    }
+                }
+            });
+        }
+    }
 }
@@ -0,0 +1,191 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.db;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.support.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+import com.keylesspalace.tusky.entity.Status;
+import com.keylesspalace.tusky.util.Log;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Keeps the top of each timeline on disk, so a timeline can be shown as soon as it's opened and
+ * only the statuses newer than what was stored need to be fetched.
+ *
+ * Each timeline is only stored up to {@link #MAX_STATUSES_PER_TIMELINE} statuses, timelines that
+ * haven't been saved in {@link #MAX_AGE} are dropped, and the whole store never holds more than
+ * {@link #MAX_STATUSES} statuses, so it stays small however many tags and accounts are viewed.
+ */
+public class TimelineStore extends SQLiteOpenHelper {
+    private static final String TAG = "TimelineStore"; // logging tag
+    private static final String DATABASE_NAME = "timelines.db";
+    private static final int DATABASE_VERSION = 1;
+
+    public static final int MAX_STATUSES_PER_TIMELINE = 100;
+    private static final int MAX_STATUSES = 2000;
+    private static final long MAX_AGE = 7 * 24 * 60 * 60 * 1000L; // milliseconds
+
+    private static final String TABLE = "timeline_status";
+    private static final String COLUMN_KIND = "kind";
+    private static final String COLUMN_HASHTAG_OR_ID = "hashtag_or_id";
+    private static final String COLUMN_STATUS_ID = "status_id";
+    private static final String COLUMN_POSITION = "position";
+    private static final String COLUMN_SAVED_AT = "saved_at";
+    private static final String COLUMN_JSON = "json";
+
+    private final Gson gson;
+
+    /** @param gsonBuilder set up the way statuses are read from the API */
+    public TimelineStore(Context context, GsonBuilder gsonBuilder) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        /* Dates are stored as plain timestamps, because Gson's default format for writing them
+         * can't be read back exactly. */
+        gson = gsonBuilder
+                .registerTypeAdapter(Date.class, new TimestampTypeAdapter())
+                .create();
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE + " ("
+                + COLUMN_KIND + " TEXT NOT NULL, "
+                + COLUMN_HASHTAG_OR_ID + " TEXT NOT NULL, "
+                + COLUMN_STATUS_ID + " TEXT NOT NULL, "
+                + COLUMN_POSITION + " INTEGER NOT NULL, "
+                + COLUMN_SAVED_AT + " INTEGER NOT NULL, "
+                + COLUMN_JSON + " TEXT NOT NULL, "
+                + "PRIMARY KEY (" + COLUMN_KIND + ", " + COLUMN_HASHTAG_OR_ID + ", "
+                        + COLUMN_STATUS_ID + "))");
+        db.execSQL("CREATE INDEX " + TABLE + "_saved_at ON " + TABLE + " (" + COLUMN_SAVED_AT
+                + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // It's only a cache, so it's simplest to start over.
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE);
+        onCreate(db);
+    }
+
+    /**
+     * Gets the stored statuses of a timeline, newest first, or an empty list if there are none.
+     *
+     * @param kind which sort of timeline it is, such as "HOME" or "TAG"
+     */
+    public List<Status> load(String kind, @Nullable String hashtagOrId) {
+        List<Status> statuses = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.query(TABLE, new String[] { COLUMN_JSON },
+                COLUMN_KIND + " = ? AND " + COLUMN_HASHTAG_OR_ID + " = ?",
+                new String[] { kind, keyOf(hashtagOrId) },
+                null, null, COLUMN_POSITION + " ASC");
+        try {
+            while (cursor.moveToNext()) {
+                try {
+                    statuses.add(gson.fromJson(cursor.getString(0), Status.class));
+                } catch (JsonParseException e) {
+                    Log.e(TAG, "Skipping a stored status that couldn't be read. "
+                            + e.getMessage());
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        return statuses;
+    }
+
+    /**
+     * Replaces what's stored for a timeline with the given statuses, newest first. Only the first
+     * {@link #MAX_STATUSES_PER_TIMELINE} of them are kept.
+     */
+    public void save(String kind, @Nullable String hashtagOrId, List<Status> statuses) {
+        String[] timeline = { kind, keyOf(hashtagOrId) };
+        long now = System.currentTimeMillis();
+        int count = Math.min(statuses.size(), MAX_STATUSES_PER_TIMELINE);
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE, COLUMN_KIND + " = ? AND " + COLUMN_HASHTAG_OR_ID + " = ?", timeline);
+            ContentValues values = new ContentValues();
+            for (int i = 0; i < count; i++) {
+                Status status = statuses.get(i);
+                values.put(COLUMN_KIND, timeline[0]);
+                values.put(COLUMN_HASHTAG_OR_ID, timeline[1]);
+                values.put(COLUMN_STATUS_ID, status.id);
+                values.put(COLUMN_POSITION, i);
+                values.put(COLUMN_SAVED_AT, now);
+                values.put(COLUMN_JSON, gson.toJson(status));
+                db.insertWithOnConflict(TABLE, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+            }
+            evict(db, now);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /** Removes everything, such as when logging out. */
+    public void clear() {
+        getWritableDatabase().delete(TABLE, null, null);
+    }
+
+    private static void evict(SQLiteDatabase db, long now) {
+        db.delete(TABLE, COLUMN_SAVED_AT + " < ?",
+                new String[] { Long.toString(now - MAX_AGE) });
+        /* Past the overall limit, statuses go from the bottom of the timeline that was least
+         * recently saved up, then the next one, so the last timeline reached can be left cut short
+         * rather than going whole. */
+        db.execSQL("DELETE FROM " + TABLE + " WHERE rowid NOT IN (SELECT rowid FROM " + TABLE
+                + " ORDER BY " + COLUMN_SAVED_AT + " DESC, " + COLUMN_POSITION + " ASC LIMIT "
+                + MAX_STATUSES + ")");
+    }
+
+    private static String keyOf(@Nullable String hashtagOrId) {
+        return hashtagOrId == null ? "" : hashtagOrId;
+    }
+
+    private static class TimestampTypeAdapter implements JsonSerializer<Date>,
+            JsonDeserializer<Date> {
+        @Override
+        public JsonElement serialize(Date src, Type typeOfSrc, JsonSerializationContext context) {
+            return new JsonPrimitive(src.getTime());
+        }
+
+        @Override
+        public Date deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context)
+                throws JsonParseException {
+            return new Date(json.getAsLong());
+        }
+    }
+}
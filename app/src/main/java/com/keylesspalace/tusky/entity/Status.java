@@ -15,6 +15,7 @@
 
 package com.keylesspalace.tusky.entity;
 
+import android.support.annotation.Nullable;
 import android.text.Spanned;
 
 import com.google.gson.JsonDeserializationContext;
@@ -22,6 +23,7 @@ import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
 import com.google.gson.annotations.SerializedName;
+import com.keylesspalace.tusky.util.StatusContentCache;
 
 import java.util.Date;
 
@@ -66,7 +68,8 @@ public class Status {
 
     public Account account;
 
-    public Spanned content;
+    /* Kept as HTML, it's only parsed when it's needed. */
+    private String content;
 
     public Status reblog;
 
@@ -84,6 +87,11 @@ public class Status {
 
     public Visibility visibility;
 
+    @Nullable
+    public Spanned getContent() {
+        return StatusContentCache.get(id, content, mentions);
+    }
+
     public Visibility getVisibility() {
         return visibility == null ? Visibility.UNLISTED : visibility;
     }
@@ -102,6 +110,19 @@ public class Status {
 
     public static final int MAX_MEDIA_ATTACHMENTS = 4;
 
+    /**
+     * Set on statuses that aren't real, but stand in a timeline for the ones missing between two
+     * parts of it that were loaded separately. It's never saved or sent.
+     */
+    public transient boolean placeholder;
+
+    public static Status createPlaceholder(String id) {
+        Status status = new Status();
+        status.id = id;
+        status.placeholder = true;
+        return status;
+    }
+
     @Override
     public int hashCode() {
         return id.hashCode();
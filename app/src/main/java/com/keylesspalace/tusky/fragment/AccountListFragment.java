@@ -41,8 +41,11 @@ import com.keylesspalace.tusky.entity.Account;
 import com.keylesspalace.tusky.entity.Relationship;
 import com.keylesspalace.tusky.interfaces.AccountActionListener;
 import com.keylesspalace.tusky.network.MastodonAPI;
+import com.keylesspalace.tusky.network.Pager;
 import com.keylesspalace.tusky.R;
 import com.keylesspalace.tusky.util.EndlessOnScrollListener;
+import com.keylesspalace.tusky.util.ImageLoadScheduler;
+import com.keylesspalace.tusky.util.ListMerge;
 import com.keylesspalace.tusky.util.Log;
 import com.keylesspalace.tusky.util.ThemeUtils;
 
@@ -69,8 +72,10 @@ public class AccountListFragment extends BaseFragment implements AccountActionLi
     private RecyclerView recyclerView;
     private EndlessOnScrollListener scrollListener;
     private AccountAdapter adapter;
+    private ImageLoadScheduler imageLoadScheduler;
     private TabLayout.OnTabSelectedListener onTabSelectedListener;
     private MastodonAPI api;
+    private Pager<Account> pager;
 
     public static AccountListFragment newInstance(Type type) {
         Bundle arguments = new Bundle();
@@ -127,6 +132,9 @@ public class AccountListFragment extends BaseFragment implements AccountActionLi
             adapter = new FollowAdapter(this);
         }
         recyclerView.setAdapter(adapter);
+        imageLoadScheduler = new ImageLoadScheduler(context);
+        imageLoadScheduler.attach(recyclerView);
+        adapter.setImageTag(imageLoadScheduler.getTag());
 
         return rootView;
     }
@@ -157,47 +165,59 @@ public class AccountListFragment extends BaseFragment implements AccountActionLi
          * activity is created, so everything needing to access the api object has to be delayed
          * until here. */
         api = activity.mastodonAPI;
+        /* These lists are paged by the ids of the follows, blocks and so on, not the accounts, so
+         * the pager has to go by the Link headers rather than the ids of the accounts it gets. */
+        pager = new Pager<>(new Pager.Source<Account>() {
+            @Override
+            public Call<List<Account>> createCall(@Nullable String maxId,
+                    @Nullable String sinceId) {
+                return createAccountsCall(maxId, sinceId);
+            }
+        }, new ListMerge.IdGetter<Account>() {
+            @Override
+            public String getId(Account account) {
+                return account.id;
+            }
+        }, new Pager.Listener<Account>() {
+            @Override
+            public void onPageLoaded(List<Account> accounts, Pager.Direction direction) {
+                onFetchAccountsSuccess(accounts, direction);
+            }
+
+            @Override
+            public void onPageFailed(Exception exception, Pager.Direction direction) {
+                onFetchAccountsFailure(exception);
+            }
+        });
         scrollListener = new EndlessOnScrollListener(layoutManager) {
             @Override
             public void onLoadMore(int page, int totalItemsCount, RecyclerView view) {
-                AccountAdapter adapter = (AccountAdapter) view.getAdapter();
-                Account account = adapter.getItem(adapter.getItemCount() - 2);
-                if (account != null) {
-                    fetchAccounts(account.id, null);
-                } else {
-                    fetchAccounts();
-                }
+                pager.loadOlder();
             }
         };
         recyclerView.addOnScrollListener(scrollListener);
     }
 
+    @Override
+    public void onDestroy() {
+        if (pager != null) {
+            pager.cancel();
+        }
+        super.onDestroy();
+    }
+
     @Override
     public void onDestroyView() {
         if (jumpToTopAllowed()) {
             TabLayout tabLayout = (TabLayout) getActivity().findViewById(R.id.tab_layout);
             tabLayout.removeOnTabSelectedListener(onTabSelectedListener);
         }
+        imageLoadScheduler.cancel();
         super.onDestroyView();
     }
 
-    private void fetchAccounts(final String fromId, String uptoId) {
-        Callback<List<Account>> cb = new Callback<List<Account>>() {
-            @Override
-            public void onResponse(Call<List<Account>> call, Response<List<Account>> response) {
-                if (response.isSuccessful()) {
-                    onFetchAccountsSuccess(response.body(), fromId);
-                } else {
-                    onFetchAccountsFailure(new Exception(response.message()));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<Account>> call, Throwable t) {
-                onFetchAccountsFailure((Exception) t);
-            }
-        };
-
+    private Call<List<Account>> createAccountsCall(@Nullable String fromId,
+            @Nullable String uptoId) {
         Call<List<Account>> listCall;
         switch (type) {
             default:
@@ -222,26 +242,12 @@ public class AccountListFragment extends BaseFragment implements AccountActionLi
                 break;
             }
         }
-        callList.add(listCall);
-        listCall.enqueue(cb);
-    }
-
-    private void fetchAccounts() {
-        fetchAccounts(null, null);
-    }
-
-    private static boolean findAccount(List<Account> accounts, String id) {
-        for (Account account : accounts) {
-            if (account.id.equals(id)) {
-                return true;
-            }
-        }
-        return false;
+        return listCall;
     }
 
-    private void onFetchAccountsSuccess(List<Account> accounts, String fromId) {
-        if (fromId != null) {
-            if (accounts.size() > 0 && !findAccount(accounts, fromId)) {
+    private void onFetchAccountsSuccess(List<Account> accounts, Pager.Direction direction) {
+        if (direction == Pager.Direction.OLDER) {
+            if (accounts.size() > 0) {
                 adapter.addItems(accounts);
             }
         } else {
@@ -35,19 +35,24 @@ import android.view.ViewGroup;
 import com.keylesspalace.tusky.MainActivity;
 import com.keylesspalace.tusky.adapter.NotificationsAdapter;
 import com.keylesspalace.tusky.R;
+import com.keylesspalace.tusky.TuskyApplication;
 import com.keylesspalace.tusky.entity.Notification;
 import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.interfaces.StatusActionListener;
 import com.keylesspalace.tusky.interfaces.StatusRemoveListener;
+import com.keylesspalace.tusky.network.MastodonStream;
+import com.keylesspalace.tusky.network.Pager;
 import com.keylesspalace.tusky.util.EndlessOnScrollListener;
+import com.keylesspalace.tusky.util.ImageLoadScheduler;
+import com.keylesspalace.tusky.util.ImagePrefetcher;
+import com.keylesspalace.tusky.util.ListMerge;
 import com.keylesspalace.tusky.util.Log;
 import com.keylesspalace.tusky.util.ThemeUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
 
 public class NotificationsFragment extends SFragment implements
         SwipeRefreshLayout.OnRefreshListener, StatusActionListener, StatusRemoveListener,
@@ -59,8 +64,19 @@ public class NotificationsFragment extends SFragment implements
     private RecyclerView recyclerView;
     private EndlessOnScrollListener scrollListener;
     private NotificationsAdapter adapter;
+    private ImageLoadScheduler imageLoadScheduler;
+    private ImagePrefetcher imagePrefetcher;
     private TabLayout.OnTabSelectedListener onTabSelectedListener;
-    private Call<List<Notification>> listCall;
+    private Pager<Notification> pager;
+    private MastodonStream stream;
+    private MastodonStream.Listener streamListener;
+    /* Whether notifications could have been missed since the stream was last connected, which
+     * isn't so when it first connects while the notifications are first loaded. */
+    private boolean catchUpOnConnect;
+    /* Notifications streamed in while newer ones were being fetched, which could otherwise end up
+     * above notifications older than them. */
+    private List<Notification> pendingStreamed;
+    private boolean applyingNewer;
     private boolean hideFab;
 
     public static NotificationsFragment newInstance() {
@@ -94,6 +110,11 @@ public class NotificationsFragment extends SFragment implements
 
         adapter = new NotificationsAdapter(this, this);
         recyclerView.setAdapter(adapter);
+        imageLoadScheduler = new ImageLoadScheduler(context);
+        imageLoadScheduler.attach(recyclerView);
+        adapter.setImageTag(imageLoadScheduler.getTag());
+        imagePrefetcher = new ImagePrefetcher(context, adapter);
+        imagePrefetcher.attach(recyclerView);
 
         TabLayout layout = (TabLayout) getActivity().findViewById(R.id.tab_layout);
         onTabSelectedListener = new TabLayout.OnTabSelectedListener() {
@@ -145,29 +166,117 @@ public class NotificationsFragment extends SFragment implements
 
             @Override
             public void onLoadMore(int page, int totalItemsCount, RecyclerView view) {
-                NotificationsAdapter adapter = (NotificationsAdapter) view.getAdapter();
-                Notification notification = adapter.getItem(adapter.getItemCount() - 2);
-                if (notification != null) {
-                    sendFetchNotificationsRequest(notification.id, null);
-                } else {
-                    sendFetchNotificationsRequest();
+                if (pager.loadOlder()) {
+                    adapter.setFooterState(NotificationsAdapter.FooterState.LOADING);
                 }
             }
         };
 
+        pager = new Pager<>(new Pager.Source<Notification>() {
+            @Override
+            public Call<List<Notification>> createCall(@Nullable String maxId,
+                    @Nullable String sinceId) {
+                return mastodonAPI.notifications(maxId, sinceId, null);
+            }
+        }, new ListMerge.IdGetter<Notification>() {
+            @Override
+            public String getId(Notification notification) {
+                return notification.id;
+            }
+        }, new Pager.Listener<Notification>() {
+            @Override
+            public void onPageLoaded(List<Notification> notifications,
+                    Pager.Direction direction) {
+                onFetchNotificationsSuccess(notifications, direction);
+            }
+
+            @Override
+            public void onPageFailed(Exception exception, Pager.Direction direction) {
+                if (direction != Pager.Direction.OLDER) {
+                    addPendingStreamed();
+                }
+                onFetchNotificationsFailure(exception);
+            }
+        });
+
         recyclerView.addOnScrollListener(scrollListener);
+
+        stream = ((TuskyApplication) activity.getApplication()).getUserStream();
+        pendingStreamed = new ArrayList<>();
+        streamListener = new MastodonStream.Listener() {
+            @Override
+            public void onConnected() {
+                // Catch up on whatever came in while it wasn't connected.
+                if (catchUpOnConnect) {
+                    pager.loadNewer();
+                }
+                // Any later connection is made after this one dropped.
+                catchUpOnConnect = true;
+            }
+
+            @Override
+            public void onUpdate(Status status) {}
+
+            @Override
+            public void onNotification(Notification notification) {
+                if (pager.isLoadingNewer() || applyingNewer) {
+                    pendingStreamed.add(notification);
+                } else {
+                    addStreamed(notification);
+                }
+            }
+
+            @Override
+            public void onDelete(String id) {
+                adapter.removeAllByStatusId(id);
+            }
+        };
+        if (isResumed()) {
+            stream.addListener(streamListener);
+        }
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (stream != null) {
+            stream.addListener(streamListener);
+        }
+    }
+
+    @Override
+    public void onPause() {
+        if (stream != null) {
+            stream.removeListener(streamListener);
+            catchUpOnConnect = true;
+        }
+        super.onPause();
+    }
+
+    private void addStreamed(Notification notification) {
+        adapter.addNewest(notification);
+        pager.advanceNewer(notification);
+    }
+
+    private void addPendingStreamed() {
+        for (Notification notification : pendingStreamed) {
+            addStreamed(notification);
+        }
+        pendingStreamed.clear();
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
-        if (listCall != null) listCall.cancel();
+        if (pager != null) pager.cancel();
     }
 
     @Override
     public void onDestroyView() {
         TabLayout tabLayout = (TabLayout) getActivity().findViewById(R.id.tab_layout);
         tabLayout.removeOnTabSelectedListener(onTabSelectedListener);
+        imageLoadScheduler.cancel();
+        imagePrefetcher.cancel();
         super.onDestroyView();
     }
 
@@ -176,51 +285,14 @@ public class NotificationsFragment extends SFragment implements
         scrollListener.reset();
     }
 
-    private void sendFetchNotificationsRequest(final String fromId, String uptoId) {
-        if (fromId != null || adapter.getItemCount() <= 1) {
-            adapter.setFooterState(NotificationsAdapter.FooterState.LOADING);
-        }
-
-        listCall = mastodonAPI.notifications(fromId, uptoId, null);
-
-        listCall.enqueue(new Callback<List<Notification>>() {
-            @Override
-            public void onResponse(Call<List<Notification>> call, Response<List<Notification>> response) {
-                if (response.isSuccessful()) {
-                    onFetchNotificationsSuccess(response.body(), fromId);
-                } else {
-                    onFetchNotificationsFailure(new Exception(response.message()));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<Notification>> call, Throwable t) {
-                onFetchNotificationsFailure((Exception) t);
-            }
-        });
-        callList.add(listCall);
-    }
-
-    private void sendFetchNotificationsRequest() {
-        sendFetchNotificationsRequest(null, null);
-    }
-
     public void removePostsByUser(String accountId) {
         adapter.removeAllByAccountId(accountId);
     }
 
-    private static boolean findNotification(List<Notification> notifications, String id) {
-        for (Notification notification : notifications) {
-            if (notification.id.equals(id)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private void onFetchNotificationsSuccess(List<Notification> notifications, String fromId) {
-        if (fromId != null) {
-            if (notifications.size() > 0 && !findNotification(notifications, fromId)) {
+    private void onFetchNotificationsSuccess(List<Notification> notifications,
+            Pager.Direction direction) {
+        if (direction == Pager.Direction.OLDER) {
+            if (notifications.size() > 0) {
                 adapter.addItems(notifications);
 
                 // Set last update id for pull notifications so that we don't get notified
@@ -231,11 +303,18 @@ public class NotificationsFragment extends SFragment implements
                 editor.apply();
             }
         } else {
-            adapter.update(notifications);
+            applyingNewer = true;
+            adapter.update(notifications, new Runnable() {
+                @Override
+                public void run() {
+                    applyingNewer = false;
+                    addPendingStreamed();
+                }
+            });
         }
         if (notifications.size() == 0 && adapter.getItemCount() == 1) {
             adapter.setFooterState(NotificationsAdapter.FooterState.EMPTY);
-        } else if (fromId != null) {
+        } else if (direction == Pager.Direction.OLDER) {
             adapter.setFooterState(NotificationsAdapter.FooterState.END);
         }
         swipeRefreshLayout.setRefreshing(false);
@@ -247,11 +326,11 @@ public class NotificationsFragment extends SFragment implements
     }
 
     public void onRefresh() {
-        Notification notification = adapter.getItem(0);
-        if (notification != null) {
-            sendFetchNotificationsRequest(null, notification.id);
-        } else {
-            sendFetchNotificationsRequest();
+        if (adapter.getItemCount() <= 1) {
+            adapter.setFooterState(NotificationsAdapter.FooterState.LOADING);
+        }
+        if (!pager.loadNewer() && !pager.isLoading()) {
+            swipeRefreshLayout.setRefreshing(false);
         }
     }
 
@@ -275,8 +354,8 @@ public class NotificationsFragment extends SFragment implements
         super.more(notification.status, view, adapter, position);
     }
 
-    public void onViewMedia(String url, Status.MediaAttachment.Type type) {
-        super.viewMedia(url, type);
+    public void onViewMedia(Status.MediaAttachment[] attachments, int index) {
+        super.viewMedia(attachments, index);
     }
 
     public void onViewThread(int position) {
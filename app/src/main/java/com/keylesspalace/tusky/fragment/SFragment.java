@@ -221,7 +221,7 @@ public abstract class SFragment extends BaseFragment {
         final String id = status.getActionableId();
         final String accountId = status.getActionableStatus().account.id;
         final String accountUsename = status.getActionableStatus().account.username;
-        final Spanned content = status.getActionableStatus().content;
+        final Spanned content = status.getActionableStatus().getContent();
         final String statusUrl = status.getActionableStatus().url;
         PopupMenu popup = new PopupMenu(getContext(), view);
         // Give a different menu depending on whether this is the user's own toot or not.
@@ -239,7 +239,7 @@ public abstract class SFragment extends BaseFragment {
                                 StringBuilder sb = new StringBuilder();
                                 sb.append(status.account.username);
                                 sb.append(" - ");
-                                sb.append(status.content.toString());
+                                sb.append(status.getContent().toString());
 
                                 Intent sendIntent = new Intent();
                                 sendIntent.setAction(Intent.ACTION_SEND);
@@ -280,10 +280,37 @@ public abstract class SFragment extends BaseFragment {
         popup.show();
     }
 
-    protected void viewMedia(String url, Status.MediaAttachment.Type type) {
-        switch (type) {
+    protected void viewMedia(Status.MediaAttachment[] attachments, int index) {
+        Status.MediaAttachment attachment = attachments[index];
+        String url = attachment.url;
+        /* The attachments either side of it are the likeliest to be opened next, so they're
+         * fetched while it's being viewed. */
+        List<String> prefetchUrls = new ArrayList<>(2);
+        List<Boolean> prefetchVideos = new ArrayList<>(2);
+        for (int i : new int[] { index + 1, index - 1 }) {
+            if (i < 0 || i >= attachments.length || attachments[i].url == null
+                    || attachments[i].url.isEmpty()) {
+                continue;
+            }
+            Status.MediaAttachment.Type type = attachments[i].type;
+            if (type == Status.MediaAttachment.Type.IMAGE) {
+                prefetchUrls.add(attachments[i].url);
+                prefetchVideos.add(false);
+            } else if (type == Status.MediaAttachment.Type.GIFV
+                    || type == Status.MediaAttachment.Type.VIDEO) {
+                prefetchUrls.add(attachments[i].url);
+                prefetchVideos.add(true);
+            }
+        }
+        String[] urls = prefetchUrls.toArray(new String[prefetchUrls.size()]);
+        boolean[] videos = new boolean[prefetchVideos.size()];
+        for (int i = 0; i < videos.length; i++) {
+            videos[i] = prefetchVideos.get(i);
+        }
+        switch (attachment.type) {
             case IMAGE: {
-                DialogFragment newFragment = ViewMediaFragment.newInstance(url);
+                DialogFragment newFragment = ViewMediaFragment.newInstance(url,
+                        attachment.previewUrl, urls, videos);
                 FragmentTransaction ft = getFragmentManager().beginTransaction();
                 newFragment.show(ft, "view_media");
                 break;
@@ -292,6 +319,8 @@ public abstract class SFragment extends BaseFragment {
             case VIDEO: {
                 Intent intent = new Intent(getContext(), ViewVideoActivity.class);
                 intent.putExtra("url", url);
+                intent.putExtra("prefetchUrls", urls);
+                intent.putExtra("prefetchVideos", videos);
                 startActivity(intent);
                 break;
             }
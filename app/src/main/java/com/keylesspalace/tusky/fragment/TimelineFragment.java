@@ -18,6 +18,7 @@ package com.keylesspalace.tusky.fragment;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.graphics.drawable.Drawable;
+import android.os.AsyncTask;
 import android.os.Bundle;
 import android.preference.PreferenceManager;
 import android.support.annotation.Nullable;
@@ -33,14 +34,23 @@ import android.view.ViewGroup;
 
 import com.keylesspalace.tusky.MainActivity;
 import com.keylesspalace.tusky.R;
+import com.keylesspalace.tusky.TuskyApplication;
 import com.keylesspalace.tusky.adapter.TimelineAdapter;
+import com.keylesspalace.tusky.db.TimelineStore;
+import com.keylesspalace.tusky.entity.Notification;
 import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.interfaces.StatusActionListener;
 import com.keylesspalace.tusky.interfaces.StatusRemoveListener;
+import com.keylesspalace.tusky.network.MastodonStream;
+import com.keylesspalace.tusky.network.Pager;
 import com.keylesspalace.tusky.util.EndlessOnScrollListener;
+import com.keylesspalace.tusky.util.ImageLoadScheduler;
+import com.keylesspalace.tusky.util.ImagePrefetcher;
+import com.keylesspalace.tusky.util.ListMerge;
 import com.keylesspalace.tusky.util.Log;
 import com.keylesspalace.tusky.util.ThemeUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import retrofit2.Call;
@@ -51,8 +61,12 @@ public class TimelineFragment extends SFragment implements
         SwipeRefreshLayout.OnRefreshListener,
         StatusActionListener,
         StatusRemoveListener,
+        TimelineAdapter.PlaceholderActionListener,
         SharedPreferences.OnSharedPreferenceChangeListener {
     private static final String TAG = "Timeline"; // logging tag
+    /* Mastodon's default, it's asked for explicitly so a full page is known to mean that there
+     * may be more. */
+    private static final int PAGE_SIZE = 20;
 
     public enum Kind {
         HOME,
@@ -65,6 +79,8 @@ public class TimelineFragment extends SFragment implements
 
     private SwipeRefreshLayout swipeRefreshLayout;
     private TimelineAdapter adapter;
+    private ImageLoadScheduler imageLoadScheduler;
+    private ImagePrefetcher imagePrefetcher;
     private Kind kind;
     private String hashtagOrId;
     private RecyclerView recyclerView;
@@ -72,6 +88,18 @@ public class TimelineFragment extends SFragment implements
     private EndlessOnScrollListener scrollListener;
     private TabLayout.OnTabSelectedListener onTabSelectedListener;
     private boolean hideFab;
+    private TimelineStore timelineStore;
+    private Pager<Status> pager;
+    private MastodonStream stream;
+    private MastodonStream.Listener streamListener;
+    private boolean streamStarted;
+    /* Whether statuses could have been missed since the stream was last connected, which isn't so
+     * when it first connects right after the timeline was loaded. */
+    private boolean catchUpOnConnect;
+    /* Statuses streamed in while newer ones were being fetched, which could otherwise end up above
+     * statuses older than them. */
+    private List<Status> pendingStreamed;
+    private boolean applyingNewer;
 
     public static TimelineFragment newInstance(Kind kind) {
         TimelineFragment fragment = new TimelineFragment();
@@ -117,19 +145,20 @@ public class TimelineFragment extends SFragment implements
                 R.drawable.status_divider_dark);
         divider.setDrawable(drawable);
         recyclerView.addItemDecoration(divider);
-        adapter = new TimelineAdapter(this);
+        adapter = new TimelineAdapter(this, this);
         recyclerView.setAdapter(adapter);
+        imageLoadScheduler = new ImageLoadScheduler(context);
+        imageLoadScheduler.attach(recyclerView);
+        adapter.setImageTag(imageLoadScheduler.getTag());
+        imagePrefetcher = new ImagePrefetcher(context, adapter);
+        imagePrefetcher.attach(recyclerView);
 
         return rootView;
     }
 
-    private void onLoadMore(RecyclerView view) {
-        TimelineAdapter adapter = (TimelineAdapter) view.getAdapter();
-        Status status = adapter.getItem(adapter.getItemCount() - 2);
-        if (status != null) {
-            sendFetchTimelineRequest(status.id, null);
-        } else {
-            sendFetchTimelineRequest(null, null);
+    private void onLoadMore() {
+        if (pager.loadOlder()) {
+            adapter.setFooterState(TimelineAdapter.FooterState.LOADING);
         }
     }
 
@@ -183,7 +212,7 @@ public class TimelineFragment extends SFragment implements
 
                 @Override
                 public void onLoadMore(int page, int totalItemsCount, RecyclerView view) {
-                    TimelineFragment.this.onLoadMore(view);
+                    TimelineFragment.this.onLoadMore();
                 }
             };
         } else {
@@ -191,11 +220,203 @@ public class TimelineFragment extends SFragment implements
             scrollListener = new EndlessOnScrollListener(layoutManager) {
                 @Override
                 public void onLoadMore(int page, int totalItemsCount, RecyclerView view) {
-                    TimelineFragment.this.onLoadMore(view);
+                    TimelineFragment.this.onLoadMore();
                 }
             };
         }
-        recyclerView.addOnScrollListener(scrollListener);
+
+        pager = new Pager<>(new Pager.Source<Status>() {
+            @Override
+            public Call<List<Status>> createCall(@Nullable String maxId,
+                    @Nullable String sinceId) {
+                return createTimelineCall(maxId, sinceId);
+            }
+        }, new ListMerge.IdGetter<Status>() {
+            @Override
+            public String getId(Status status) {
+                return status.id;
+            }
+        }, new Pager.Listener<Status>() {
+            @Override
+            public void onPageLoaded(List<Status> statuses, Pager.Direction direction) {
+                onFetchTimelineSuccess(statuses, direction);
+            }
+
+            @Override
+            public void onPageFailed(Exception exception, Pager.Direction direction) {
+                if (direction != Pager.Direction.OLDER) {
+                    addPendingStreamed();
+                }
+                onFetchTimelineFailure(exception);
+            }
+        });
+
+        TuskyApplication application = (TuskyApplication) getActivity().getApplication();
+        stream = createStream(application);
+        pendingStreamed = new ArrayList<>();
+        streamListener = new MastodonStream.Listener() {
+            @Override
+            public void onConnected() {
+                // Catch up on whatever was posted while it wasn't connected.
+                if (catchUpOnConnect) {
+                    pager.loadNewer();
+                }
+                // Any later connection is made after this one dropped.
+                catchUpOnConnect = true;
+            }
+
+            @Override
+            public void onUpdate(Status status) {
+                if (pager.isLoadingNewer() || applyingNewer) {
+                    pendingStreamed.add(status);
+                } else {
+                    addStreamed(status);
+                }
+            }
+
+            @Override
+            public void onNotification(Notification notification) {}
+
+            @Override
+            public void onDelete(String id) {
+                adapter.removeAllByStatusId(id);
+            }
+        };
+
+        timelineStore = application.getTimelineStore();
+        loadStoredTimeline();
+    }
+
+    @Nullable
+    private MastodonStream createStream(TuskyApplication application) {
+        switch (kind) {
+            case HOME: {
+                return application.getUserStream();
+            }
+            case PUBLIC_FEDERATED: {
+                return application.createStream("public", null);
+            }
+            case PUBLIC_LOCAL: {
+                return application.createStream("public/local", null);
+            }
+            case TAG: {
+                return application.createStream("hashtag", hashtagOrId);
+            }
+            default: {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public void onResume() {
+        super.onResume();
+        if (streamStarted) {
+            stream.addListener(streamListener);
+        }
+    }
+
+    @Override
+    public void onPause() {
+        if (streamStarted) {
+            stream.removeListener(streamListener);
+            catchUpOnConnect = true;
+        }
+        super.onPause();
+    }
+
+    /** Streams new statuses in from now on, which is only done once the timeline's been loaded. */
+    private void startStream() {
+        if (stream == null || streamStarted) {
+            return;
+        }
+        streamStarted = true;
+        catchUpOnConnect = false;
+        if (isResumed()) {
+            stream.addListener(streamListener);
+        }
+    }
+
+    private void addStreamed(Status status) {
+        adapter.addNewest(status);
+        pager.advanceNewer(status);
+    }
+
+    private void addPendingStreamed() {
+        for (Status status : pendingStreamed) {
+            addStreamed(status);
+        }
+        pendingStreamed.clear();
+    }
+
+    @Override
+    public void onDestroy() {
+        if (pager != null) {
+            pager.cancel();
+        }
+        super.onDestroy();
+    }
+
+    /**
+     * Shows whatever of this timeline was stored the last time it was seen, then fetches just the
+     * statuses newer than that. Paging isn't started until then, so it can't race the stored
+     * statuses into the adapter.
+     */
+    private void loadStoredTimeline() {
+        new AsyncTask<Void, Void, List<Status>>() {
+            @Override
+            protected List<Status> doInBackground(Void... params) {
+                return timelineStore.load(kind.name(), hashtagOrId);
+            }
+
+            @Override
+            protected void onPostExecute(List<Status> statuses) {
+                if (!isAdded()) {
+                    return;
+                }
+                if (statuses.isEmpty()) {
+                    adapter.setFooterState(TimelineAdapter.FooterState.LOADING);
+                    pager.loadNewer();
+                    recyclerView.addOnScrollListener(scrollListener);
+                    startStream();
+                } else {
+                    pager.seed(statuses);
+                    adapter.update(statuses, new Runnable() {
+                        @Override
+                        public void run() {
+                            if (!isAdded()) {
+                                return;
+                            }
+                            swipeRefreshLayout.setRefreshing(true);
+                            onRefresh();
+                            recyclerView.addOnScrollListener(scrollListener);
+                            startStream();
+                        }
+                    });
+                }
+            }
+        }.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    private void saveTimeline() {
+        final List<Status> statuses = new ArrayList<>();
+        for (int i = 0; i < TimelineStore.MAX_STATUSES_PER_TIMELINE; i++) {
+            Status status = adapter.getItem(i);
+            // Only the part above any missing statuses is kept, so what's stored has no holes.
+            if (status == null || status.placeholder) {
+                break;
+            }
+            statuses.add(status);
+        }
+        if (statuses.isEmpty()) {
+            return;
+        }
+        AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                timelineStore.save(kind.name(), hashtagOrId, statuses);
+            }
+        });
     }
 
     @Override
@@ -204,6 +425,8 @@ public class TimelineFragment extends SFragment implements
             TabLayout tabLayout = (TabLayout) getActivity().findViewById(R.id.tab_layout);
             tabLayout.removeOnTabSelectedListener(onTabSelectedListener);
         }
+        imageLoadScheduler.cancel();
+        imagePrefetcher.cancel();
         super.onDestroyView();
     }
 
@@ -220,83 +443,125 @@ public class TimelineFragment extends SFragment implements
         scrollListener.reset();
     }
 
-    private void sendFetchTimelineRequest(@Nullable final String fromId, @Nullable String uptoId) {
-        if (fromId != null || adapter.getItemCount() <= 1) {
-            adapter.setFooterState(TimelineAdapter.FooterState.LOADING);
-        }
-
-        Callback<List<Status>> callback = new Callback<List<Status>>() {
-            @Override
-            public void onResponse(Call<List<Status>> call, Response<List<Status>> response) {
-                if (response.isSuccessful()) {
-                    onFetchTimelineSuccess(response.body(), fromId);
-                } else {
-                    onFetchTimelineFailure(new Exception(response.message()));
-                }
-            }
-
-            @Override
-            public void onFailure(Call<List<Status>> call, Throwable t) {
-                onFetchTimelineFailure((Exception) t);
-            }
-        };
-
-        Call<List<Status>> listCall;
+    private Call<List<Status>> createTimelineCall(@Nullable String fromId,
+            @Nullable String uptoId) {
         switch (kind) {
             default:
             case HOME: {
-                listCall = mastodonAPI.homeTimeline(fromId, uptoId, null);
-                break;
+                return mastodonAPI.homeTimeline(fromId, uptoId, PAGE_SIZE);
             }
             case PUBLIC_FEDERATED: {
-                listCall = mastodonAPI.publicTimeline(null, fromId, uptoId, null);
-                break;
+                return mastodonAPI.publicTimeline(null, fromId, uptoId, PAGE_SIZE);
             }
             case PUBLIC_LOCAL: {
-                listCall = mastodonAPI.publicTimeline(true, fromId, uptoId, null);
-                break;
+                return mastodonAPI.publicTimeline(true, fromId, uptoId, PAGE_SIZE);
             }
             case TAG: {
-                listCall = mastodonAPI.hashtagTimeline(hashtagOrId, null, fromId, uptoId, null);
-                break;
+                return mastodonAPI.hashtagTimeline(hashtagOrId, null, fromId, uptoId, PAGE_SIZE);
             }
             case USER: {
-                listCall = mastodonAPI.accountStatuses(hashtagOrId, fromId, uptoId, null);
-                break;
+                return mastodonAPI.accountStatuses(hashtagOrId, fromId, uptoId, PAGE_SIZE);
             }
             case FAVOURITES: {
-                listCall = mastodonAPI.favourites(fromId, uptoId, null);
-                break;
+                return mastodonAPI.favourites(fromId, uptoId, PAGE_SIZE);
+            }
+        }
+    }
+
+    /**
+     * Loads the statuses missing where a placeholder is, bounded on both sides by the statuses
+     * around it. The server gives the newest of them, so if the page is full there can still be
+     * more missing, and a placeholder is left below what was loaded.
+     *
+     * It's only ever filled from the top. With max_id and since_id the server always gives the
+     * newest statuses in the range, never the oldest, so there's no asking for the ones just above
+     * the status below the gap.
+     */
+    @Override
+    public void onLoadPlaceholder(int position) {
+        final Status placeholder = adapter.getItem(position);
+        Status above = adapter.getItem(position - 1);
+        Status below = adapter.getItem(position + 1);
+        if (placeholder == null || above == null) {
+            return;
+        }
+        if (adapter.isPlaceholderLoading(placeholder.id)) {
+            // It was tapped again before the first tap's request came back.
+            return;
+        }
+        adapter.setPlaceholderLoading(placeholder.id, true);
+        Call<List<Status>> call = createTimelineCall(above.id, below == null ? null : below.id);
+        call.enqueue(new Callback<List<Status>>() {
+            @Override
+            public void onResponse(Call<List<Status>> call, Response<List<Status>> response) {
+                if (response.isSuccessful()) {
+                    List<Status> statuses = response.body();
+                    adapter.replacePlaceholder(placeholder.id, statuses,
+                            createPlaceholderIfFull(statuses));
+                    saveTimeline();
+                } else {
+                    onLoadPlaceholderFailure(placeholder,
+                            new Exception(response.message()));
+                }
             }
+
+            @Override
+            public void onFailure(Call<List<Status>> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return;
+                }
+                onLoadPlaceholderFailure(placeholder, new Exception(t));
+            }
+        });
+        callList.add(call);
+    }
+
+    private void onLoadPlaceholderFailure(Status placeholder, Exception exception) {
+        adapter.setPlaceholderLoading(placeholder.id, false);
+        Log.e(TAG, "Fetch Failure: " + exception.getMessage());
+    }
+
+    @Nullable
+    private static Status createPlaceholderIfFull(List<Status> page) {
+        if (page.size() < PAGE_SIZE) {
+            return null;
         }
-        callList.add(listCall);
-        listCall.enqueue(callback);
+        return Status.createPlaceholder("placeholder-" + page.get(page.size() - 1).id);
     }
 
     public void removePostsByUser(String accountId) {
         adapter.removeAllByAccountId(accountId);
     }
 
-    private static boolean findStatus(List<Status> statuses, String id) {
-        for (Status status : statuses) {
-            if (status.id.equals(id)) {
-                return true;
+    public void onFetchTimelineSuccess(List<Status> statuses, Pager.Direction direction) {
+        if (direction == Pager.Direction.NEWER) {
+            /* Only the newest page since the top status was given, so a full one may not reach
+             * all the way down to it. */
+            Status placeholder = createPlaceholderIfFull(statuses);
+            if (placeholder != null) {
+                statuses = new ArrayList<>(statuses);
+                statuses.add(placeholder);
             }
         }
-        return false;
-    }
-
-    public void onFetchTimelineSuccess(List<Status> statuses, String fromId) {
-        if (fromId != null) {
-            if (statuses.size() > 0 && !findStatus(statuses, fromId)) {
+        if (direction == Pager.Direction.OLDER) {
+            if (statuses.size() > 0) {
                 adapter.addItems(statuses);
             }
+            saveTimeline();
         } else {
-            adapter.update(statuses);
+            applyingNewer = true;
+            adapter.update(statuses, new Runnable() {
+                @Override
+                public void run() {
+                    applyingNewer = false;
+                    addPendingStreamed();
+                    saveTimeline();
+                }
+            });
         }
         if (statuses.size() == 0 && adapter.getItemCount() == 1) {
             adapter.setFooterState(TimelineAdapter.FooterState.EMPTY);
-        } else if(fromId != null) {
+        } else if (direction == Pager.Direction.OLDER) {
             adapter.setFooterState(TimelineAdapter.FooterState.END);
         }
         swipeRefreshLayout.setRefreshing(false);
@@ -308,11 +573,11 @@ public class TimelineFragment extends SFragment implements
     }
 
     public void onRefresh() {
-        Status status = adapter.getItem(0);
-        if (status != null) {
-            sendFetchTimelineRequest(null, status.id);
-        } else {
-            sendFetchTimelineRequest(null, null);
+        if (adapter.getItemCount() <= 1) {
+            adapter.setFooterState(TimelineAdapter.FooterState.LOADING);
+        }
+        if (!pager.loadNewer() && !pager.isLoading()) {
+            swipeRefreshLayout.setRefreshing(false);
         }
     }
 
@@ -340,8 +605,8 @@ public class TimelineFragment extends SFragment implements
         super.more(adapter.getItem(position), view, adapter, position);
     }
 
-    public void onViewMedia(String url, Status.MediaAttachment.Type type) {
-        super.viewMedia(url, type);
+    public void onViewMedia(Status.MediaAttachment[] attachments, int index) {
+        super.viewMedia(attachments, index);
     }
 
     public void onViewThread(int position) {
@@ -20,16 +20,21 @@ import android.app.DownloadManager;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.content.pm.PackageManager;
+import android.graphics.Matrix;
+import android.graphics.RectF;
 import android.net.Uri;
 import android.os.Build;
 import android.os.Bundle;
 import android.os.Environment;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.StringRes;
 import android.support.design.widget.Snackbar;
 import android.support.v4.app.DialogFragment;
 import android.support.v4.content.ContextCompat;
+import android.util.DisplayMetrics;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
@@ -38,6 +43,11 @@ import android.view.WindowManager;
 import android.widget.ImageView;
 
 import com.keylesspalace.tusky.R;
+import com.keylesspalace.tusky.TuskyApplication;
+import com.keylesspalace.tusky.util.Log;
+import com.keylesspalace.tusky.util.MediaCache;
+import com.keylesspalace.tusky.util.TiledImageDrawable;
+import com.github.chrisbanes.photoview.OnMatrixChangedListener;
 import com.github.chrisbanes.photoview.OnOutsidePhotoTapListener;
 import com.github.chrisbanes.photoview.OnSingleFlingListener;
 import com.github.chrisbanes.photoview.PhotoView;
@@ -46,23 +56,45 @@ import com.squareup.picasso.Callback;
 import com.squareup.picasso.Picasso;
 
 import java.io.File;
+import java.io.IOException;
 
 import butterknife.BindView;
 import butterknife.ButterKnife;
 
 public class ViewMediaFragment extends DialogFragment {
+    private static final String TAG = "ViewMediaFragment"; // logging tag
 
     private PhotoViewAttacher attacher;
 
     private static final int PERMISSIONS_REQUEST_WRITE_EXTERNAL_STORAGE = 1;
+    /* Past this, some devices can't draw a bitmap, so the base is kept below it. */
+    private static final int MAX_BASE_SIZE = 2048; // pixels
 
     @BindView(R.id.view_media_image)
     PhotoView photoView;
 
-    public static ViewMediaFragment newInstance(String url) {
+    @BindView(R.id.view_media_progress)
+    View progress;
+
+    private MediaCache.Download originalDownload;
+    private MediaCache.Download prefetch;
+    private TiledImageDrawable original;
+    private Handler handler;
+
+    /**
+     * @param previewUrl which is shown while the image at url loads, as it's usually cached from
+     *                   the status it was in
+     * @param prefetchUrls media that's likely to be opened next, fetched once the image has loaded
+     * @param prefetchVideos whether each of those is a video
+     */
+    public static ViewMediaFragment newInstance(String url, @Nullable String previewUrl,
+            String[] prefetchUrls, boolean[] prefetchVideos) {
         Bundle arguments = new Bundle();
         ViewMediaFragment fragment = new ViewMediaFragment();
         arguments.putString("url", url);
+        arguments.putString("previewUrl", previewUrl);
+        arguments.putStringArray("prefetchUrls", prefetchUrls);
+        arguments.putBooleanArray("prefetchVideos", prefetchVideos);
         fragment.setArguments(arguments);
         return fragment;
     }
@@ -90,6 +122,7 @@ public class ViewMediaFragment extends DialogFragment {
 
         Bundle arguments = getArguments();
         String url = arguments.getString("url");
+        String previewUrl = arguments.getString("previewUrl");
 
         attacher = new PhotoViewAttacher(photoView);
 
@@ -134,24 +167,127 @@ public class ViewMediaFragment extends DialogFragment {
             }
         });
 
-        Picasso.with(getContext())
-                .load(url)
-                .into(photoView, new Callback() {
-                    @Override
-                    public void onSuccess() {
-                        rootView.findViewById(R.id.view_media_progress).setVisibility(View.GONE);
-                        attacher.update();
-                    }
+        attacher.setOnMatrixChangeListener(new OnMatrixChangedListener() {
+            @Override
+            public void onMatrixChanged(RectF rect) {
+                if (original != null) {
+                    original.setViewport(rect, photoView.getWidth(), photoView.getHeight());
+                }
+            }
+        });
 
-                    @Override
-                    public void onError() {
+        if (previewUrl != null && !previewUrl.isEmpty()) {
+            Picasso.with(getContext())
+                    .load(previewUrl)
+                    .into(photoView, new Callback() {
+                        @Override
+                        public void onSuccess() {
+                            attacher.update();
+                        }
+
+                        @Override
+                        public void onError() {}
+                    });
+        }
 
-                    }
-                });
+        handler = new Handler(Looper.getMainLooper());
+        loadOriginal(url);
 
         return rootView;
     }
 
+    @Override
+    public void onDestroyView() {
+        originalDownload.cancel();
+        if (prefetch != null) {
+            prefetch.cancel();
+            prefetch = null;
+        }
+        handler.removeCallbacksAndMessages(null);
+        if (original != null) {
+            original.recycle();
+            original = null;
+        }
+        super.onDestroyView();
+    }
+
+    /* Streams the full image to a file, rather than into memory, so only the parts of it that are
+     * in view ever have to be decoded at full resolution. */
+    private void loadOriginal(String url) {
+        DisplayMetrics metrics = getResources().getDisplayMetrics();
+        final int maxBaseSize = Math.min(Math.max(metrics.widthPixels, metrics.heightPixels),
+                MAX_BASE_SIZE);
+        final long maxTileBytes = Math.min(2L * metrics.widthPixels * metrics.heightPixels * 4,
+                Runtime.getRuntime().maxMemory() / 8);
+        MediaCache cache = ((TuskyApplication) getActivity().getApplication()).getMediaCache();
+        originalDownload = cache.fetch(url, new MediaCache.Listener() {
+            @Override
+            public void onFetched(File file) {
+                try {
+                    onOriginalLoaded(TiledImageDrawable.decode(file, maxBaseSize, maxTileBytes));
+                } catch (IOException e) {
+                    onFailed(e);
+                }
+            }
+
+            @Override
+            public void onFailed(IOException e) {
+                Log.e(TAG, "Couldn't load the image. " + e.getMessage());
+                onOriginalFailed();
+            }
+        });
+    }
+
+    private void onOriginalLoaded(final TiledImageDrawable drawable) {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (getView() == null) {
+                    drawable.recycle();
+                    return;
+                }
+                original = drawable;
+                progress.setVisibility(View.GONE);
+                startPrefetch();
+                // The preview mustn't land on top of it if it's still loading.
+                Picasso.with(getContext()).cancelRequest(photoView);
+                /* The preview has the same shape, so however it's been zoomed carries over to the
+                 * original in its place. */
+                Matrix zoom = new Matrix();
+                attacher.getSuppMatrix(zoom);
+                photoView.setImageDrawable(drawable);
+                attacher.update();
+                attacher.setDisplayMatrix(zoom);
+                drawable.setViewport(attacher.getDisplayRect(), photoView.getWidth(),
+                        photoView.getHeight());
+            }
+        });
+    }
+
+    private void onOriginalFailed() {
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                if (getView() != null) {
+                    progress.setVisibility(View.GONE);
+                    startPrefetch();
+                }
+            }
+        });
+    }
+
+    /* Only once the image is in, so the two don't compete. */
+    private void startPrefetch() {
+        Bundle arguments = getArguments();
+        String[] urls = arguments.getStringArray("prefetchUrls");
+        boolean[] videos = arguments.getBooleanArray("prefetchVideos");
+        if (prefetch == null && urls != null && videos != null) {
+            MediaCache cache = ((TuskyApplication) getActivity().getApplication())
+                    .getMediaCache();
+            prefetch = cache.prefetch(urls, videos);
+        }
+    }
+
     private void downloadImage(){
 
         //Permission stuff
@@ -36,6 +36,7 @@ import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.entity.StatusContext;
 import com.keylesspalace.tusky.network.MastodonAPI;
 import com.keylesspalace.tusky.R;
+import com.keylesspalace.tusky.TuskyApplication;
 import com.keylesspalace.tusky.interfaces.StatusActionListener;
 import com.keylesspalace.tusky.interfaces.StatusRemoveListener;
 import com.keylesspalace.tusky.util.ConversationLineItemDecoration;
@@ -109,12 +110,21 @@ public class ViewThreadFragment extends SFragment implements
 
     private void sendStatusRequest(final String id) {
         Call<Status> call = mastodonApi.status(id);
-        call.enqueue(new Callback<Status>() {
+        /* The cached copy of the status lets the thread appear before it's revalidated. */
+        TuskyApplication application = (TuskyApplication) getActivity().getApplication();
+        application.enqueueStaleWhileRevalidate(call, Status.class, new Callback<Status>() {
+            /* This is called again with the revalidated status, by which time the thread could
+             * have been scrolled, so it's only scrolled to the status the first time. */
+            private boolean scrolled;
+
             @Override
             public void onResponse(Call<Status> call, Response<Status> response) {
                 if (response.isSuccessful()) {
                     int position = adapter.setStatus(response.body());
-                    recyclerView.scrollToPosition(position);
+                    if (!scrolled) {
+                        recyclerView.scrollToPosition(position);
+                        scrolled = true;
+                    }
                 } else {
                     onThreadRequestFailure(id);
                 }
@@ -201,8 +211,8 @@ public class ViewThreadFragment extends SFragment implements
         super.more(adapter.getItem(position), view, adapter, position);
     }
 
-    public void onViewMedia(String url, Status.MediaAttachment.Type type) {
-        super.viewMedia(url, type);
+    public void onViewMedia(Status.MediaAttachment[] attachments, int index) {
+        super.viewMedia(attachments, index);
     }
 
     public void onViewThread(int position) {
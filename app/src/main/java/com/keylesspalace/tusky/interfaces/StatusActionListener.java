@@ -24,6 +24,6 @@ public interface StatusActionListener extends LinkListener {
     void onReblog(final boolean reblog, final int position);
     void onFavourite(final boolean favourite, final int position);
     void onMore(View view, final int position);
-    void onViewMedia(String url, Status.MediaAttachment.Type type);
+    void onViewMedia(Status.MediaAttachment[] attachments, int index);
     void onViewThread(int position);
 }
@@ -22,13 +22,21 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
 import com.keylesspalace.tusky.util.HtmlUtils;
 
 import java.lang.reflect.Type;
 
-public class SpannedTypeAdapter implements JsonDeserializer<Spanned> {
+public class SpannedTypeAdapter implements JsonDeserializer<Spanned>, JsonSerializer<Spanned> {
     @Override
     public Spanned deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
         return HtmlUtils.fromHtml(Emojione.shortnameToUnicode(json.getAsString(), false));
     }
+
+    @Override
+    public JsonElement serialize(Spanned src, Type typeOfSrc, JsonSerializationContext context) {
+        return new JsonPrimitive(HtmlUtils.toHtml(src));
+    }
 }
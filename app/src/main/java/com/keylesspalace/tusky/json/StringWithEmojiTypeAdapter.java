@@ -20,11 +20,15 @@ import com.google.gson.JsonDeserializationContext;
 import com.google.gson.JsonDeserializer;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
 
 import java.lang.reflect.Type;
 
 /** This is a type-based workaround to allow for shortcode conversion when loading display names. */
-public class StringWithEmojiTypeAdapter implements JsonDeserializer<StringWithEmoji> {
+public class StringWithEmojiTypeAdapter implements JsonDeserializer<StringWithEmoji>,
+        JsonSerializer<StringWithEmoji> {
     @Override
     public StringWithEmoji deserialize(JsonElement json, Type typeOfT,
             JsonDeserializationContext context) throws JsonParseException {
@@ -35,4 +39,10 @@ public class StringWithEmojiTypeAdapter implements JsonDeserializer<StringWithEm
             return new StringWithEmoji("");
         }
     }
+
+    @Override
+    public JsonElement serialize(StringWithEmoji src, Type typeOfSrc,
+            JsonSerializationContext context) {
+        return new JsonPrimitive(src.value);
+    }
 }
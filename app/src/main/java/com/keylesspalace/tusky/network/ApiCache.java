@@ -0,0 +1,190 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.keylesspalace.tusky.util.Log;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Converter;
+
+/**
+ * A bounded disk cache for API responses. Mastodon sends an ETag and asks for every response to be
+ * revalidated, so OkHttp turns repeated GETs into conditional requests which are answered with an
+ * empty 304 when nothing changed.
+ *
+ * It also counts how requests were answered, to see how much it actually saves.
+ */
+public class ApiCache {
+    private static final String TAG = "ApiCache"; // logging tag
+
+    private final Cache cache;
+    private final Handler mainHandler;
+    private final AtomicInteger hitCount;
+    private final AtomicInteger missCount;
+    private final AtomicInteger revalidateCount;
+    private final AtomicLong bytesSaved;
+
+    public ApiCache(File directory, long maxSize) {
+        cache = new Cache(directory, maxSize);
+        mainHandler = new Handler(Looper.getMainLooper());
+        hitCount = new AtomicInteger();
+        missCount = new AtomicInteger();
+        revalidateCount = new AtomicInteger();
+        bytesSaved = new AtomicLong();
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * An application interceptor which records where each response came from. The cache-only
+     * lookups made by {@link #enqueueStaleWhileRevalidate} aren't counted, as the request that
+     * follows each of them is, and counting both would count it twice.
+     */
+    public Interceptor getStatisticsInterceptor() {
+        return new Interceptor() {
+            @Override
+            public Response intercept(Chain chain) throws IOException {
+                Request request = chain.request();
+                Response response = chain.proceed(request);
+                if (request.cacheControl().onlyIfCached()) {
+                    return response;
+                }
+                Response cacheResponse = response.cacheResponse();
+                Response networkResponse = response.networkResponse();
+                if (cacheResponse == null) {
+                    missCount.incrementAndGet();
+                    return response;
+                }
+                if (networkResponse == null) {
+                    hitCount.incrementAndGet();
+                } else if (networkResponse.code() == 304) {
+                    revalidateCount.incrementAndGet();
+                } else {
+                    // The cached copy was out of date and the whole body was sent again.
+                    missCount.incrementAndGet();
+                    return response;
+                }
+                // Only counted when the server reported the length of what it originally sent.
+                ResponseBody body = response.body();
+                if (body != null && body.contentLength() > 0) {
+                    bytesSaved.addAndGet(body.contentLength());
+                }
+                return response;
+            }
+        };
+    }
+
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    public int getRevalidateCount() {
+        return revalidateCount.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /** Logs how requests have been answered so far, in debug builds. */
+    public void logStatistics() {
+        Log.i(TAG, String.format(Locale.US,
+                "%d hits, %d misses, %d revalidated, %d bytes saved",
+                getHitCount(), getMissCount(), getRevalidateCount(), getBytesSaved()));
+    }
+
+    /** Drops every stored response, such as when a different account logs in. */
+    public void evictAll() {
+        try {
+            cache.evictAll();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to clear the response cache. " + e.getMessage());
+        }
+    }
+
+    /**
+     * Gives the callback whatever response is stored for the call, however old, and then runs the
+     * call itself to get a fresh one. So the callback's onResponse can be invoked twice, the second
+     * time with the revalidated response. If nothing is stored it just behaves as the call would.
+     */
+    public <T> void enqueueStaleWhileRevalidate(okhttp3.Call.Factory callFactory,
+            final Converter<ResponseBody, T> converter, final Call<T> call,
+            final Callback<T> callback) {
+        Request cachedRequest = call.request().newBuilder()
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build();
+        callFactory.newCall(cachedRequest).enqueue(new okhttp3.Callback() {
+            @Override
+            public void onFailure(okhttp3.Call rawCall, IOException e) {
+                revalidate(call, callback);
+            }
+
+            @Override
+            public void onResponse(okhttp3.Call rawCall, final Response rawResponse) {
+                T body = null;
+                ResponseBody rawBody = rawResponse.body();
+                try {
+                    if (rawResponse.isSuccessful()) {
+                        body = converter.convert(rawBody);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    Log.e(TAG, "Failed to read a cached response. " + e.getMessage());
+                } finally {
+                    rawBody.close();
+                }
+                final T cachedBody = body;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        if (cachedBody != null && !call.isCanceled()) {
+                            callback.onResponse(call,
+                                    retrofit2.Response.success(cachedBody, rawResponse));
+                        }
+                        revalidate(call, callback);
+                    }
+                });
+            }
+        });
+    }
+
+    private static <T> void revalidate(Call<T> call, Callback<T> callback) {
+        if (!call.isExecuted()) {
+            call.enqueue(callback);
+        }
+    }
+}
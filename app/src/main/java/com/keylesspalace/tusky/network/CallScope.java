@@ -0,0 +1,88 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import retrofit2.Call;
+
+/**
+ * Tracks the calls made through a shared API instance on behalf of one Activity, so they can all
+ * be cancelled when it goes away without tearing down the process-wide client, its dispatcher or
+ * its connection pool.
+ */
+public class CallScope {
+    /* Calls are only weakly held, so finished calls don't pile up over the scope's lifetime. */
+    private final Set<Call<?>> calls =
+            Collections.newSetFromMap(new WeakHashMap<Call<?>, Boolean>());
+    private boolean cancelled;
+
+    /**
+     * Returns a view of the given Retrofit service where every call it creates is owned by this
+     * scope.
+     */
+    public <T> T wrap(Class<T> service, final T delegate) {
+        Object proxy = Proxy.newProxyInstance(service.getClassLoader(), new Class<?>[] { service },
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args)
+                            throws Throwable {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return method.invoke(CallScope.this, args);
+                        }
+                        Object result;
+                        try {
+                            result = method.invoke(delegate, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                        if (result instanceof Call) {
+                            add((Call<?>) result);
+                        }
+                        return result;
+                    }
+                });
+        return service.cast(proxy);
+    }
+
+    public synchronized void add(Call<?> call) {
+        if (cancelled) {
+            call.cancel();
+        } else {
+            calls.add(call);
+        }
+    }
+
+    public void cancelAll() {
+        List<Call<?>> toCancel;
+        synchronized (this) {
+            cancelled = true;
+            toCancel = new ArrayList<>(calls);
+            calls.clear();
+        }
+        for (Call<?> call : toCancel) {
+            call.cancel();
+        }
+    }
+}
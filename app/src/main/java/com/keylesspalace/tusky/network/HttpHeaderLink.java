@@ -0,0 +1,160 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * One of the links in an HTTP Link header (RFC 5988), which is how Mastodon tells where the next
+ * and previous pages of a list are. For lists like followers, these are the only way to page
+ * through them, because the ids it pages by aren't the ids of the accounts in it.
+ */
+public class HttpHeaderLink {
+    public final String uri;
+    private final List<String> relationTypes;
+
+    private HttpHeaderLink(String uri, List<String> relationTypes) {
+        this.uri = uri;
+        this.relationTypes = relationTypes;
+    }
+
+    public boolean hasRelationType(String relationType) {
+        return relationTypes.contains(relationType);
+    }
+
+    /**
+     * Parses a Link header such as {@code <https://a/?max_id=2>; rel="next", <https://a/?since_id=5>;
+     * rel="prev"}. Anything malformed past the last complete link is ignored.
+     */
+    public static List<HttpHeaderLink> parse(String line) {
+        if (line == null) {
+            return Collections.emptyList();
+        }
+        List<HttpHeaderLink> links = new ArrayList<>();
+        int i = 0;
+        int length = line.length();
+        while (i < length) {
+            int uriStart = line.indexOf('<', i);
+            if (uriStart == -1) {
+                break;
+            }
+            int uriEnd = line.indexOf('>', uriStart);
+            if (uriEnd == -1) {
+                break;
+            }
+            String uri = line.substring(uriStart + 1, uriEnd).trim();
+            List<String> relationTypes = new ArrayList<>();
+            i = uriEnd + 1;
+            // Go through the parameters, which last until a comma that isn't inside quotes.
+            while (i < length && line.charAt(i) != ',') {
+                if (line.charAt(i) != ';') {
+                    i++;
+                    continue;
+                }
+                int nameStart = i + 1;
+                int equals = nextOf(line, '=', nameStart);
+                if (equals == -1) {
+                    i = nextParameterOrLink(line, nameStart);
+                    continue;
+                }
+                String name = line.substring(nameStart, equals).trim();
+                int valueStart = equals + 1;
+                while (valueStart < length && line.charAt(valueStart) == ' ') {
+                    valueStart++;
+                }
+                String value;
+                if (valueStart < length && line.charAt(valueStart) == '"') {
+                    int quoteEnd = line.indexOf('"', valueStart + 1);
+                    if (quoteEnd == -1) {
+                        quoteEnd = length;
+                    }
+                    value = line.substring(valueStart + 1, quoteEnd);
+                    i = Math.min(quoteEnd + 1, length);
+                } else {
+                    int valueEnd = nextParameterOrLink(line, valueStart);
+                    value = line.substring(valueStart, valueEnd).trim();
+                    i = valueEnd;
+                }
+                if (name.equalsIgnoreCase("rel")) {
+                    for (String type : value.trim().split("\\s+")) {
+                        if (!type.isEmpty()) {
+                            relationTypes.add(type.toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+            links.add(new HttpHeaderLink(uri, relationTypes));
+            i++;
+        }
+        return links;
+    }
+
+    /** Finds the first link with the given relation type, such as "next", or null if none. */
+    public static HttpHeaderLink findByRelationType(List<HttpHeaderLink> links,
+            String relationType) {
+        for (HttpHeaderLink link : links) {
+            if (link.hasRelationType(relationType)) {
+                return link;
+            }
+        }
+        return null;
+    }
+
+    /** Gets the first value of a query parameter in the link's URI, or null if it has none. */
+    public String getQueryParameter(String name) {
+        int queryStart = uri.indexOf('?');
+        if (queryStart == -1) {
+            return null;
+        }
+        int queryEnd = uri.indexOf('#', queryStart);
+        if (queryEnd == -1) {
+            queryEnd = uri.length();
+        }
+        for (String pair : uri.substring(queryStart + 1, queryEnd).split("&")) {
+            int equals = pair.indexOf('=');
+            String key = equals == -1 ? pair : pair.substring(0, equals);
+            if (key.equals(name)) {
+                return equals == -1 ? "" : pair.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+
+    private static int nextOf(String line, char c, int from) {
+        for (int i = from; i < line.length(); i++) {
+            char current = line.charAt(i);
+            if (current == c) {
+                return i;
+            } else if (current == ';' || current == ',') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int nextParameterOrLink(String line, int from) {
+        for (int i = from; i < line.length(); i++) {
+            char current = line.charAt(i);
+            if (current == ';' || current == ',') {
+                return i;
+            }
+        }
+        return line.length();
+    }
+}
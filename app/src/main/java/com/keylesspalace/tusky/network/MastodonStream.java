@@ -0,0 +1,323 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.keylesspalace.tusky.entity.Notification;
+import com.keylesspalace.tusky.entity.Status;
+import com.keylesspalace.tusky.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSource;
+
+/**
+ * One of Mastodon's streams of server-sent events, such as "user" for the home timeline and
+ * notifications, or "public" and "hashtag" for those timelines.
+ *
+ * It's only connected while it has listeners. A dropped connection is made again, waiting twice as
+ * long after each failure up to {@link #MAX_RETRY_DELAY}. Whatever was sent while it wasn't
+ * connected is missed, so listeners are told each time it connects, to catch up with since_id.
+ */
+public class MastodonStream {
+    private static final String TAG = "MastodonStream"; // logging tag
+    private static final long INITIAL_RETRY_DELAY = 1000; // milliseconds
+    private static final long MAX_RETRY_DELAY = 60 * 1000; // milliseconds
+
+    public interface Listener {
+        /** It connected, and anything sent since it was last connected wasn't received. */
+        void onConnected();
+        void onUpdate(Status status);
+        void onNotification(Notification notification);
+        /** A status was deleted. */
+        void onDelete(String id);
+    }
+
+    private final OkHttpClient client;
+    private final Request request;
+    private final Gson gson;
+    private final Executor callbackExecutor;
+    private final long initialRetryDelay;
+    private final ScheduledThreadPoolExecutor executor;
+    private final CopyOnWriteArrayList<Listener> listeners;
+    private boolean running;
+    private Call call;
+    private ScheduledFuture<?> pendingConnect;
+    private int failedAttempts;
+
+    /**
+     * @param client has to have no read timeout, the stream is only sent a heartbeat every 15
+     *               seconds or so
+     * @param callbackExecutor where listeners are called, such as on the main thread
+     */
+    public MastodonStream(OkHttpClient client, HttpUrl url, Gson gson,
+            Executor callbackExecutor) {
+        this(client, url, gson, callbackExecutor, INITIAL_RETRY_DELAY);
+    }
+
+    MastodonStream(OkHttpClient client, HttpUrl url, Gson gson, Executor callbackExecutor,
+            long initialRetryDelay) {
+        this.client = client;
+        this.gson = gson;
+        this.callbackExecutor = callbackExecutor;
+        this.initialRetryDelay = initialRetryDelay;
+        request = new Request.Builder()
+                .url(url)
+                .header("Accept", "text/event-stream")
+                .build();
+        /* A single thread both holds the connection and waits to make it again, and it goes away
+         * when the stream isn't being used. */
+        executor = new ScheduledThreadPoolExecutor(1);
+        executor.setKeepAliveTime(30, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /** Builds the URL of a stream, such as "user", "public/local" or "hashtag". */
+    public static HttpUrl createUrl(String domain, String stream, String tag) {
+        HttpUrl.Builder builder = new HttpUrl.Builder()
+                .scheme("https")
+                .host(domain)
+                .addPathSegments("api/v1/streaming")
+                .addPathSegments(stream);
+        if (tag != null) {
+            builder.addQueryParameter("tag", tag);
+        }
+        return builder.build();
+    }
+
+    public synchronized void addListener(Listener listener) {
+        listeners.addIfAbsent(listener);
+        if (!running) {
+            running = true;
+            failedAttempts = 0;
+            scheduleConnect(0);
+        }
+    }
+
+    public synchronized void removeListener(Listener listener) {
+        listeners.remove(listener);
+        if (running && listeners.isEmpty()) {
+            running = false;
+            disconnect();
+        }
+    }
+
+    /** Drops the connection and makes it again, such as after a different account logs in. */
+    public synchronized void restart() {
+        if (running) {
+            disconnect();
+            failedAttempts = 0;
+            scheduleConnect(0);
+        }
+    }
+
+    private void disconnect() {
+        if (pendingConnect != null) {
+            pendingConnect.cancel(false);
+            pendingConnect = null;
+        }
+        if (call != null) {
+            call.cancel();
+            call = null;
+        }
+    }
+
+    private void scheduleConnect(long delay) {
+        pendingConnect = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                connect();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void connect() {
+        Call currentCall;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            currentCall = client.newCall(request);
+            call = currentCall;
+        }
+        boolean connected = false;
+        try {
+            Response response = currentCall.execute();
+            try {
+                if (!response.isSuccessful()) {
+                    throw new IOException("The stream couldn't be opened: " + response.code());
+                }
+                connected = true;
+                dispatchConnected();
+                read(response.body().source());
+            } finally {
+                response.close();
+            }
+        } catch (IOException e) {
+            if (!currentCall.isCanceled()) {
+                Log.d(TAG, e.getMessage());
+            }
+        }
+        synchronized (this) {
+            // It was cancelled to be stopped or restarted, which takes care of what's next.
+            if (!running || call != currentCall) {
+                return;
+            }
+            call = null;
+            if (connected) {
+                failedAttempts = 0;
+            }
+            long delay = Math.min(initialRetryDelay << Math.min(failedAttempts, 16),
+                    MAX_RETRY_DELAY);
+            failedAttempts++;
+            scheduleConnect(delay);
+        }
+    }
+
+    private void read(BufferedSource source) throws IOException {
+        EventParser parser = new EventParser();
+        String line;
+        while ((line = source.readUtf8Line()) != null) {
+            if (parser.feed(line)) {
+                dispatch(parser.getEvent(), parser.getData());
+            }
+        }
+    }
+
+    private void dispatch(String event, final String data) {
+        try {
+            switch (event) {
+                case "update": {
+                    final Status status = gson.fromJson(data, Status.class);
+                    callbackExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (Listener listener : listeners) {
+                                listener.onUpdate(status);
+                            }
+                        }
+                    });
+                    break;
+                }
+                case "notification": {
+                    final Notification notification = gson.fromJson(data, Notification.class);
+                    callbackExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (Listener listener : listeners) {
+                                listener.onNotification(notification);
+                            }
+                        }
+                    });
+                    break;
+                }
+                case "delete": {
+                    callbackExecutor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            for (Listener listener : listeners) {
+                                listener.onDelete(data.trim());
+                            }
+                        }
+                    });
+                    break;
+                }
+            }
+        } catch (JsonParseException e) {
+            Log.e(TAG, "Skipping an event that couldn't be read. "
+                    + e.getMessage());
+        }
+    }
+
+    private void dispatchConnected() {
+        callbackExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Listener listener : listeners) {
+                    listener.onConnected();
+                }
+            }
+        });
+    }
+
+    /**
+     * Puts the lines of a server-sent event stream back together into events. Comments, like the
+     * heartbeats Mastodon sends, are skipped.
+     */
+    static class EventParser {
+        private String event;
+        private StringBuilder data;
+        private String completeEvent;
+        private String completeData;
+
+        EventParser() {
+            data = new StringBuilder();
+        }
+
+        /** @return whether the line finished an event, which can then be gotten */
+        boolean feed(String line) {
+            if (line.isEmpty()) {
+                boolean complete = data.length() > 0;
+                if (complete) {
+                    completeEvent = event == null ? "message" : event;
+                    // The last line of the data doesn't end with a newline.
+                    completeData = data.substring(0, data.length() - 1);
+                }
+                event = null;
+                data.setLength(0);
+                return complete;
+            }
+            if (line.startsWith(":")) {
+                return false;
+            }
+            int colon = line.indexOf(':');
+            String field = colon == -1 ? line : line.substring(0, colon);
+            String value = "";
+            if (colon != -1) {
+                value = line.substring(colon + 1);
+                if (value.startsWith(" ")) {
+                    value = value.substring(1);
+                }
+            }
+            if (field.equals("event")) {
+                event = value;
+            } else if (field.equals("data")) {
+                data.append(value).append('\n');
+            }
+            return false;
+        }
+
+        String getEvent() {
+            return completeEvent;
+        }
+
+        String getData() {
+            return completeData;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+
+import com.keylesspalace.tusky.util.ListMerge;
+import com.keylesspalace.tusky.util.Log;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * Pages through a list the Mastodon API gives newest first, in both directions.
+ *
+ * The cursors for the next pages are taken from the response's Link header when there is one, and
+ * otherwise from the ids of the first and last items. Only one request per direction is ever in
+ * flight, so asking again while one is loading does nothing. Failed requests are retried a few
+ * times, waiting twice as long each time.
+ *
+ * The ids of the last few older pages are kept, to leave out items a later page repeats. Only
+ * {@link #MAX_RETAINED_PAGES} pages are kept, so that doesn't grow however far the list goes.
+ */
+public class Pager<T> {
+    private static final String TAG = "Pager"; // logging tag
+    private static final int MAX_RETRIES = 3;
+    private static final long INITIAL_RETRY_DELAY = 1000; // milliseconds
+    private static final int MAX_RETAINED_PAGES = 10;
+
+    public enum Direction {
+        /** Nothing was loaded yet, so it's the newest items there are. */
+        FIRST,
+        NEWER,
+        OLDER,
+    }
+
+    public interface Source<T> {
+        Call<List<T>> createCall(@Nullable String maxId, @Nullable String sinceId);
+    }
+
+    public interface Listener<T> {
+        void onPageLoaded(List<T> items, Direction direction);
+        /** Only called once it's been retried as many times as it will be. */
+        void onPageFailed(Exception exception, Direction direction);
+    }
+
+    private final Source<T> source;
+    private final ListMerge.IdGetter<T> idGetter;
+    private final Listener<T> listener;
+    private final Handler handler;
+    private final Deque<Set<String>> retainedPages;
+    private String newerCursor;
+    private String olderCursor;
+    private boolean olderExhausted;
+    private Call<List<T>> newerCall;
+    private Call<List<T>> olderCall;
+
+    public Pager(Source<T> source, ListMerge.IdGetter<T> idGetter, Listener<T> listener) {
+        this.source = source;
+        this.idGetter = idGetter;
+        this.listener = listener;
+        handler = new Handler(Looper.getMainLooper());
+        retainedPages = new ArrayDeque<>();
+    }
+
+    /** Continues from items that were already shown, such as ones that were stored. */
+    public void seed(List<T> items) {
+        if (!items.isEmpty()) {
+            newerCursor = idGetter.getId(items.get(0));
+            olderCursor = idGetter.getId(items.get(items.size() - 1));
+        }
+    }
+
+    public boolean isLoading() {
+        return newerCall != null || olderCall != null;
+    }
+
+    public boolean isLoadingNewer() {
+        return newerCall != null;
+    }
+
+    /**
+     * Moves the newer cursor past an item that arrived some other way, such as from a stream, so
+     * it isn't fetched again.
+     */
+    public void advanceNewer(T item) {
+        newerCursor = idGetter.getId(item);
+    }
+
+    /** @return whether a request was started, which it isn't if one is already loading */
+    public boolean loadNewer() {
+        if (newerCall != null || (olderCall != null && !hasLoaded())) {
+            return false;
+        }
+        load(hasLoaded() ? Direction.NEWER : Direction.FIRST, 0);
+        return true;
+    }
+
+    /** @return whether a request was started, which it isn't if one is already loading */
+    public boolean loadOlder() {
+        if (olderCall != null || olderExhausted || (newerCall != null && !hasLoaded())) {
+            return false;
+        }
+        load(hasLoaded() ? Direction.OLDER : Direction.FIRST, 0);
+        return true;
+    }
+
+    /** Stops everything that's loading or waiting to be retried. */
+    public void cancel() {
+        // The handler is only used for retries, in either direction.
+        handler.removeCallbacksAndMessages(null);
+        if (newerCall != null) {
+            newerCall.cancel();
+            newerCall = null;
+        }
+        if (olderCall != null) {
+            olderCall.cancel();
+            olderCall = null;
+        }
+    }
+
+    private boolean hasLoaded() {
+        return newerCursor != null || olderCursor != null;
+    }
+
+    private void load(final Direction direction, final int attempt) {
+        final Call<List<T>> call;
+        switch (direction) {
+            default:
+            case FIRST: {
+                call = source.createCall(null, null);
+                break;
+            }
+            case NEWER: {
+                call = source.createCall(null, newerCursor);
+                break;
+            }
+            case OLDER: {
+                call = source.createCall(olderCursor, null);
+                break;
+            }
+        }
+        setCall(direction, call);
+        call.enqueue(new Callback<List<T>>() {
+            @Override
+            public void onResponse(Call<List<T>> call, Response<List<T>> response) {
+                if (response.isSuccessful()) {
+                    setCall(direction, null);
+                    onPageLoaded(response, direction);
+                } else if (response.code() >= 500) {
+                    retryOrFail(direction, attempt, new Exception(response.message()));
+                } else {
+                    setCall(direction, null);
+                    listener.onPageFailed(new Exception(response.message()), direction);
+                }
+            }
+
+            @Override
+            public void onFailure(Call<List<T>> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return;
+                }
+                if (t instanceof IOException) {
+                    retryOrFail(direction, attempt, (IOException) t);
+                } else {
+                    setCall(direction, null);
+                    listener.onPageFailed(new Exception(t), direction);
+                }
+            }
+        });
+    }
+
+    private void retryOrFail(final Direction direction, final int attempt, Exception exception) {
+        if (attempt >= MAX_RETRIES) {
+            setCall(direction, null);
+            listener.onPageFailed(exception, direction);
+            return;
+        }
+        long delay = INITIAL_RETRY_DELAY << attempt;
+        Log.d(TAG, "Retrying in " + delay + "ms: " + exception.getMessage());
+        handler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                load(direction, attempt + 1);
+            }
+        }, delay);
+    }
+
+    private void setCall(Direction direction, @Nullable Call<List<T>> call) {
+        if (direction == Direction.OLDER) {
+            olderCall = call;
+        } else {
+            newerCall = call;
+        }
+    }
+
+    private void onPageLoaded(Response<List<T>> response, Direction direction) {
+        List<T> items = response.body();
+        List<HttpHeaderLink> links = HttpHeaderLink.parse(response.headers().get("Link"));
+        HttpHeaderLink next = HttpHeaderLink.findByRelationType(links, "next");
+        HttpHeaderLink prev = HttpHeaderLink.findByRelationType(links, "prev");
+
+        if (direction != Direction.NEWER || olderCursor == null) {
+            if (next != null && next.getQueryParameter("max_id") != null) {
+                olderCursor = next.getQueryParameter("max_id");
+            } else if (!items.isEmpty()) {
+                olderCursor = idGetter.getId(items.get(items.size() - 1));
+            }
+            /* An empty page, or one that says there's nothing after it, is the end. Just missing
+             * a Link header doesn't tell either way. */
+            if (direction != Direction.NEWER) {
+                olderExhausted = items.isEmpty() || (!links.isEmpty() && next == null);
+            }
+        }
+        if (direction != Direction.OLDER || newerCursor == null) {
+            if (prev != null && prev.getQueryParameter("since_id") != null) {
+                newerCursor = prev.getQueryParameter("since_id");
+            } else if (!items.isEmpty()) {
+                newerCursor = idGetter.getId(items.get(0));
+            }
+        }
+
+        if (direction == Direction.OLDER) {
+            items = withoutRetained(items);
+        }
+        retain(items);
+        listener.onPageLoaded(items, direction);
+    }
+
+    private List<T> withoutRetained(List<T> items) {
+        List<T> fresh = new ArrayList<>(items.size());
+        for (T item : items) {
+            if (!isRetained(idGetter.getId(item))) {
+                fresh.add(item);
+            }
+        }
+        return fresh;
+    }
+
+    private boolean isRetained(String id) {
+        for (Set<String> page : retainedPages) {
+            if (page.contains(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void retain(List<T> items) {
+        Set<String> ids = new HashSet<>();
+        for (T item : items) {
+            ids.add(idGetter.getId(item));
+        }
+        retainedPages.addLast(ids);
+        while (retainedPages.size() > MAX_RETAINED_PAGES) {
+            retainedPages.removeFirst();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import android.content.ContentResolver;
+import android.net.Uri;
+import android.support.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * A request body that's streamed from wherever its content is as it's sent, rather than being
+ * read into memory first, and which tells a listener how much of it has been sent.
+ */
+public class ProgressRequestBody extends RequestBody {
+    private static final long SEGMENT_SIZE = 8192; // bytes
+    /* How often progress is reported when the length isn't known. */
+    private static final long UNKNOWN_LENGTH_STEP = 64 * 1024; // bytes
+
+    /** Where the content comes from. */
+    public interface Content {
+        /** Opens it from the start, which may happen more than once if the request is retried. */
+        Source open() throws IOException;
+    }
+
+    public interface UploadListener {
+        /**
+         * Called from the thread sending the request, every hundredth of the way or so.
+         *
+         * @param contentLength in bytes, or -1 if it isn't known
+         */
+        void onProgress(long bytesWritten, long contentLength);
+    }
+
+    @Nullable private final MediaType contentType;
+    private final long contentLength;
+    private final Content content;
+    @Nullable private final UploadListener listener;
+
+    /** @param contentLength in bytes, or -1 if it isn't known, in which case it's sent chunked */
+    public ProgressRequestBody(@Nullable MediaType contentType, long contentLength,
+            Content content, @Nullable UploadListener listener) {
+        this.contentType = contentType;
+        this.contentLength = contentLength;
+        this.content = content;
+        this.listener = listener;
+    }
+
+    /** Creates a body that's read from a content URI, such as a picked image or video. */
+    public static ProgressRequestBody create(final ContentResolver contentResolver, final Uri uri,
+            @Nullable MediaType contentType, long contentLength,
+            @Nullable UploadListener listener) {
+        return new ProgressRequestBody(contentType, contentLength, new Content() {
+            @Override
+            public Source open() throws IOException {
+                InputStream stream = contentResolver.openInputStream(uri);
+                if (stream == null) {
+                    throw new FileNotFoundException("Couldn't open " + uri);
+                }
+                return Okio.source(stream);
+            }
+        }, listener);
+    }
+
+    public static ProgressRequestBody create(@Nullable MediaType contentType, final File file,
+            @Nullable UploadListener listener) {
+        return new ProgressRequestBody(contentType, file.length(), new Content() {
+            @Override
+            public Source open() throws IOException {
+                return Okio.source(file);
+            }
+        }, listener);
+    }
+
+    public static ProgressRequestBody create(@Nullable MediaType contentType,
+            final byte[] data, @Nullable UploadListener listener) {
+        return new ProgressRequestBody(contentType, data.length, new Content() {
+            @Override
+            public Source open() {
+                return new Buffer().write(data);
+            }
+        }, listener);
+    }
+
+    @Override
+    @Nullable
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        long step = contentLength > 0 ? Math.max(contentLength / 100, 1) : UNKNOWN_LENGTH_STEP;
+        long written = 0;
+        long reported = 0;
+        Source source = content.open();
+        try {
+            if (listener != null) {
+                listener.onProgress(0, contentLength);
+            }
+            long read;
+            while ((read = source.read(sink.buffer(), SEGMENT_SIZE)) != -1) {
+                sink.emitCompleteSegments();
+                written += read;
+                if (listener != null && written - reported >= step) {
+                    listener.onProgress(written, contentLength);
+                    reported = written;
+                }
+            }
+            sink.flush();
+            if (listener != null && written != reported) {
+                listener.onProgress(written, contentLength);
+            }
+        } finally {
+            source.close();
+        }
+    }
+}
@@ -0,0 +1,519 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.network;
+
+import android.support.annotation.Nullable;
+
+import com.keylesspalace.tusky.util.Log;
+import com.keylesspalace.tusky.util.MediaCache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+import okio.Okio;
+import okio.Source;
+
+/**
+ * A small HTTP server on the device's loopback interface which a video player can be pointed at
+ * instead of a video's own URL. Whatever's played from start to end is kept in the
+ * {@link MediaCache}, and from then on it, and any range of it the player seeks to, comes from
+ * there, so looping a GIFV or watching a video again doesn't download it again. When the start of
+ * a video was prefetched, that's played while the rest is downloaded.
+ *
+ * Ranges that start past what's cached go straight to the server and aren't kept, as the player
+ * jumps around in them.
+ *
+ * Any app on the device can connect to it, so it only answers requests with a token that's made
+ * anew each time the app runs and is only given out in the URLs it makes.
+ *
+ * Like {@link ApiCache} it counts how requests were answered, to see how much it actually saves.
+ */
+public class VideoCacheProxy {
+    private static final String TAG = "VideoCacheProxy"; // logging tag
+    private static final String DEFAULT_CONTENT_TYPE = "video/mp4";
+    private static final long SEGMENT_SIZE = 8192; // bytes
+
+    private final OkHttpClient client;
+    private final MediaCache cache;
+    /* The URLs being downloaded whole, which another request for shouldn't start again. */
+    private final Set<String> downloading;
+    private final Set<Socket> connections;
+    private final Set<Call> calls;
+    private final AtomicInteger hitCount;
+    private final AtomicInteger missCount;
+    private final AtomicLong bytesSaved;
+    private final String token;
+    private ServerSocket serverSocket;
+    private ExecutorService executor;
+
+    public VideoCacheProxy(OkHttpClient client, MediaCache cache) {
+        this.client = client;
+        this.cache = cache;
+        downloading = Collections.synchronizedSet(new HashSet<String>());
+        connections = Collections.synchronizedSet(new HashSet<Socket>());
+        calls = Collections.synchronizedSet(new HashSet<Call>());
+        hitCount = new AtomicInteger();
+        missCount = new AtomicInteger();
+        bytesSaved = new AtomicLong();
+        byte[] tokenBytes = new byte[16];
+        new SecureRandom().nextBytes(tokenBytes);
+        token = ByteString.of(tokenBytes).hex();
+    }
+
+    /** Starts listening on a free port, if it isn't already. */
+    public synchronized void start() throws IOException {
+        if (serverSocket != null) {
+            return;
+        }
+        serverSocket = new ServerSocket(0, 8, InetAddress.getByName("127.0.0.1"));
+        final ServerSocket server = serverSocket;
+        final ExecutorService connectionExecutor = Executors.newCachedThreadPool();
+        executor = connectionExecutor;
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                accept(server, connectionExecutor);
+            }
+        });
+    }
+
+    /** Stops listening, and drops the connections and downloads that are still going. */
+    public synchronized void stop() {
+        if (serverSocket == null) {
+            return;
+        }
+        closeQuietly(serverSocket);
+        serverSocket = null;
+        synchronized (connections) {
+            for (Socket socket : connections) {
+                closeQuietly(socket);
+            }
+        }
+        synchronized (calls) {
+            for (Call call : calls) {
+                call.cancel();
+            }
+        }
+        executor.shutdown();
+        executor = null;
+    }
+
+    /** @return the URL to play a video through this at, which it has to be started for */
+    public synchronized String getProxyUrl(String url) {
+        if (serverSocket == null) {
+            throw new IllegalStateException("The proxy hasn't been started.");
+        }
+        return new HttpUrl.Builder()
+                .scheme("http")
+                .host("127.0.0.1")
+                .port(serverSocket.getLocalPort())
+                .addQueryParameter("token", token)
+                .addQueryParameter("url", url)
+                .build()
+                .toString();
+    }
+
+    /** @return how many requests were answered from the cache alone */
+    public int getHitCount() {
+        return hitCount.get();
+    }
+
+    public int getMissCount() {
+        return missCount.get();
+    }
+
+    /** @return the share of requests answered from the cache alone, from 0 to 1 */
+    public float getHitRate() {
+        int hits = hitCount.get();
+        int total = hits + missCount.get();
+        return total == 0 ? 0 : (float) hits / total;
+    }
+
+    /** @return how many bytes were played from the cache rather than downloaded */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /** Logs how requests have been answered so far, in debug builds. */
+    public void logStatistics() {
+        Log.i(TAG, String.format(Locale.US, "%d hits, %d misses, %d bytes saved",
+                getHitCount(), getMissCount(), getBytesSaved()));
+    }
+
+    private void accept(ServerSocket server, ExecutorService executor) {
+        while (true) {
+            final Socket socket;
+            try {
+                socket = server.accept();
+            } catch (IOException e) {
+                // It's been stopped.
+                return;
+            }
+            connections.add(socket);
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            handle(socket);
+                        } catch (IOException e) {
+                            // The player went away, or the server did.
+                        } finally {
+                            connections.remove(socket);
+                            closeQuietly(socket);
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // It was stopped in between.
+                connections.remove(socket);
+                closeQuietly(socket);
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedSource in = Okio.buffer(Okio.source(socket));
+        BufferedSink out = Okio.buffer(Okio.sink(socket));
+        String[] requestLine = in.readUtf8LineStrict().split(" ");
+        String rangeHeader = null;
+        String line;
+        while (!(line = in.readUtf8LineStrict()).isEmpty()) {
+            int colon = line.indexOf(':');
+            if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Range")) {
+                rangeHeader = line.substring(colon + 1).trim();
+            }
+        }
+        if (requestLine.length != 3) {
+            writeHead(out, "400 Bad Request", null, 0, null);
+            return;
+        }
+        if (!requestLine[0].equals("GET")) {
+            writeHead(out, "405 Method Not Allowed", null, 0, null);
+            return;
+        }
+        HttpUrl requestUrl = HttpUrl.parse("http://127.0.0.1" + requestLine[1]);
+        String requestToken = requestUrl == null ? null : requestUrl.queryParameter("token");
+        if (requestToken == null || !MessageDigest.isEqual(requestToken.getBytes("UTF-8"),
+                token.getBytes("UTF-8"))) {
+            writeHead(out, "403 Forbidden", null, 0, null);
+            return;
+        }
+        String url = requestUrl.queryParameter("url");
+        if (url == null || HttpUrl.parse(url) == null) {
+            writeHead(out, "400 Bad Request", null, 0, null);
+            return;
+        }
+        long[] range = null;
+        if (rangeHeader != null) {
+            range = parseRange(rangeHeader);
+        }
+
+        File file = cache.getFile(url);
+        if (file.exists()) {
+            hitCount.incrementAndGet();
+            // Used again, so it's kept longer.
+            file.setLastModified(System.currentTimeMillis());
+            serveFile(file, url, range, out);
+            return;
+        }
+        missCount.incrementAndGet();
+        boolean fromStart = range == null || (range[0] == 0 && range[1] == -1);
+        if (fromStart && downloading.add(url)) {
+            try {
+                serveAndCache(url, range != null, out);
+            } finally {
+                downloading.remove(url);
+            }
+        } else {
+            forward(url, rangeHeader, out);
+        }
+    }
+
+    private void serveFile(File file, String url, @Nullable long[] range, BufferedSink out)
+            throws IOException {
+        long length = file.length();
+        String contentType = guessContentType(url);
+        long start = 0;
+        long end = length - 1;
+        if (range != null) {
+            if (range[0] == -1) {
+                // The last so many bytes.
+                start = Math.max(0, length - range[1]);
+            } else {
+                start = range[0];
+                if (range[1] != -1 && range[1] < end) {
+                    end = range[1];
+                }
+            }
+            if (start >= length) {
+                writeHead(out, "416 Range Not Satisfiable", null, 0, "bytes */" + length);
+                return;
+            }
+            writeHead(out, "206 Partial Content", contentType, end - start + 1,
+                    "bytes " + start + "-" + end + "/" + length);
+        } else {
+            writeHead(out, "200 OK", contentType, length, null);
+        }
+        FileInputStream stream = new FileInputStream(file);
+        try {
+            stream.getChannel().position(start);
+            Source source = Okio.source(stream);
+            long remaining = end - start + 1;
+            Buffer buffer = new Buffer();
+            while (remaining > 0) {
+                long read = source.read(buffer, Math.min(SEGMENT_SIZE, remaining));
+                if (read == -1) {
+                    break;
+                }
+                out.write(buffer, read);
+                out.emitCompleteSegments();
+                remaining -= read;
+                bytesSaved.addAndGet(read);
+            }
+            out.flush();
+        } finally {
+            stream.close();
+        }
+    }
+
+    /* Sends the whole of a video, from the start that's been prefetched if there is one, and
+     * keeps it if the player takes all of it. */
+    private void serveAndCache(String url, boolean ranged, BufferedSink out) throws IOException {
+        File partialFile = cache.getPartialFile(url);
+        long prefix = partialFile.exists() ? partialFile.length() : 0;
+        Request.Builder request = new Request.Builder().url(url);
+        if (prefix > 0) {
+            request.header("Range", "bytes=" + prefix + "-");
+        }
+        Call call = client.newCall(request.build());
+        calls.add(call);
+        File temporary = null;
+        try {
+            Response response = call.execute();
+            try {
+                long total;
+                if (prefix > 0 && response.code() == 206) {
+                    total = parseTotalLength(response.header("Content-Range"));
+                } else if (response.code() == 200) {
+                    // The server sent the whole of it after all.
+                    prefix = 0;
+                    total = response.body().contentLength();
+                } else {
+                    writeHead(out, "502 Bad Gateway", null, 0, null);
+                    return;
+                }
+                String contentType = response.header("Content-Type", guessContentType(url));
+                if (ranged && total != -1) {
+                    writeHead(out, "206 Partial Content", contentType, total,
+                            "bytes 0-" + (total - 1) + "/" + total);
+                } else {
+                    writeHead(out, "200 OK", contentType, total, null);
+                }
+
+                temporary = cache.createTemporaryFile();
+                BufferedSink sink = Okio.buffer(Okio.sink(temporary));
+                long written = 0;
+                try {
+                    if (prefix > 0) {
+                        BufferedSource partial = Okio.buffer(Okio.source(partialFile));
+                        try {
+                            written += tee(partial, sink, out);
+                        } finally {
+                            partial.close();
+                        }
+                        bytesSaved.addAndGet(written);
+                    }
+                    written += tee(response.body().source(), sink, out);
+                } finally {
+                    sink.close();
+                }
+                out.flush();
+                if (total == -1 || written == total) {
+                    cache.put(temporary, url);
+                    temporary = null;
+                }
+            } finally {
+                response.close();
+            }
+        } finally {
+            calls.remove(call);
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+    }
+
+    /* Copies everything from the source to both the file and the player. */
+    private static long tee(BufferedSource source, BufferedSink file, BufferedSink out)
+            throws IOException {
+        long total = 0;
+        Buffer buffer = new Buffer();
+        long read;
+        while ((read = source.read(buffer, SEGMENT_SIZE)) != -1) {
+            buffer.copyTo(file.buffer(), 0, read);
+            file.emitCompleteSegments();
+            out.write(buffer, read);
+            out.emitCompleteSegments();
+            total += read;
+        }
+        return total;
+    }
+
+    /* Passes a request on to the server and its response back, without keeping it. */
+    private void forward(String url, @Nullable String rangeHeader, BufferedSink out)
+            throws IOException {
+        Request.Builder request = new Request.Builder().url(url);
+        if (rangeHeader != null) {
+            request.header("Range", rangeHeader);
+        }
+        Call call = client.newCall(request.build());
+        calls.add(call);
+        try {
+            Response response = call.execute();
+            try {
+                String status = response.code() + " " + response.message();
+                writeHead(out, status, response.header("Content-Type", guessContentType(url)),
+                        response.body().contentLength(), response.header("Content-Range"));
+                out.writeAll(response.body().source());
+                out.flush();
+            } finally {
+                response.close();
+            }
+        } finally {
+            calls.remove(call);
+        }
+    }
+
+    /**
+     * @param contentLength in bytes, or -1 if it isn't known, in which case the end of the body
+     *                      is when the connection is closed
+     */
+    private static void writeHead(BufferedSink out, String status, @Nullable String contentType,
+            long contentLength, @Nullable String contentRange) throws IOException {
+        out.writeUtf8("HTTP/1.1 ").writeUtf8(status).writeUtf8("\r\n");
+        if (contentType != null) {
+            out.writeUtf8("Content-Type: ").writeUtf8(contentType).writeUtf8("\r\n");
+        }
+        if (contentLength != -1) {
+            out.writeUtf8("Content-Length: ").writeDecimalLong(contentLength).writeUtf8("\r\n");
+        }
+        if (contentRange != null) {
+            out.writeUtf8("Content-Range: ").writeUtf8(contentRange).writeUtf8("\r\n");
+        }
+        out.writeUtf8("Accept-Ranges: bytes\r\n");
+        // One request a connection keeps things simple, and costs nothing over loopback.
+        out.writeUtf8("Connection: close\r\n\r\n");
+        out.flush();
+    }
+
+    /**
+     * Parses the single range of bytes that players ask for, such as "bytes=100-" or
+     * "bytes=100-199", or "bytes=-100" for the last hundred.
+     *
+     * @return the first and last byte, either of which is -1 if it's left open, or null if it
+     * can't be parsed, in which case the whole thing is sent
+     */
+    @Nullable
+    static long[] parseRange(String header) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') != -1) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash == -1) {
+            return null;
+        }
+        try {
+            long first = dash == 0 ? -1 : Long.parseLong(spec.substring(0, dash).trim());
+            String last = spec.substring(dash + 1).trim();
+            long[] range = { first, last.isEmpty() ? -1 : Long.parseLong(last) };
+            if ((range[0] == -1 && range[1] == -1)
+                    || (range[1] != -1 && range[0] > range[1])) {
+                return null;
+            }
+            return range;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /* Gets the length of the whole from a header like "bytes 100-199/200", or -1 if it's not
+     * given. */
+    private static long parseTotalLength(@Nullable String contentRange) {
+        if (contentRange == null) {
+            return -1;
+        }
+        int slash = contentRange.lastIndexOf('/');
+        try {
+            return Long.parseLong(contentRange.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String guessContentType(String url) {
+        HttpUrl parsed = HttpUrl.parse(url);
+        String type = null;
+        if (parsed != null) {
+            type = URLConnection.guessContentTypeFromName(parsed.encodedPath());
+        }
+        return type == null ? DEFAULT_CONTENT_TYPE : type;
+    }
+
+    /* Sockets are only Closeable from KitKat on. */
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // There's nothing more to be done with it anyway.
+        }
+    }
+
+    private static void closeQuietly(ServerSocket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // There's nothing more to be done with it anyway.
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.content.Context;
+import android.support.annotation.Nullable;
+import android.widget.ImageView;
+
+import com.keylesspalace.tusky.R;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+
+/**
+ * Loads avatars the same way everywhere they're listed, so they're decoded at the size they're
+ * shown rather than the size they're uploaded, and each avatar is kept in Picasso's memory cache
+ * once for all the lists it's in. Picasso caches the result by its URL, size and transformation.
+ */
+public class AvatarLoader {
+    private static final RoundedTransformation ROUNDED = new RoundedTransformation(7, 0);
+
+    /** Loads an avatar into a view in a list, which is {@link R.dimen#avatar_size} or smaller. */
+    public static void load(ImageView view, String url) {
+        load(view, url, null);
+    }
+
+    /** @param tag the Picasso tag of the list the view is in, if any */
+    public static void load(ImageView view, String url, @Nullable Object tag) {
+        Context context = view.getContext();
+        Picasso picasso = Picasso.with(context);
+        if (url == null || url.isEmpty()) {
+            picasso.cancelRequest(view);
+            view.setImageResource(R.drawable.avatar_default);
+            return;
+        }
+        int size = context.getResources().getDimensionPixelSize(R.dimen.avatar_size);
+        RequestCreator request = createRequest(picasso, url, size)
+                .placeholder(R.drawable.avatar_default)
+                .error(R.drawable.avatar_error);
+        if (tag != null) {
+            request.tag(tag);
+        }
+        request.into(view);
+    }
+
+    /**
+     * @param size in pixels, avatars are square. Ones smaller than it aren't scaled up, the view
+     *             can do that.
+     */
+    public static RequestCreator createRequest(Picasso picasso, String url, int size) {
+        return picasso.load(url)
+                .resize(size, size)
+                .centerCrop()
+                .onlyScaleDown()
+                .transform(ROUNDED);
+    }
+}
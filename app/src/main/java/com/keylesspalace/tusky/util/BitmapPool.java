@@ -0,0 +1,145 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.annotation.TargetApi;
+import android.graphics.Bitmap;
+import android.os.Build;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmaps no longer shown, kept to be decoded into again with
+ * {@link android.graphics.BitmapFactory.Options#inBitmap} rather than allocating new ones.
+ *
+ * From KitKat on, any bitmap at least as big as the image can be reused, so they're sorted into
+ * buckets by the power of two below their size. Before it, only one of exactly the same width,
+ * height and config can be, so that's what they're sorted by.
+ */
+public class BitmapPool {
+    private final long maxBytes;
+    private final Map<Long, List<Bitmap>> buckets;
+    private long bytes;
+
+    /** @param maxBytes past which bitmaps that are put in are left to be collected instead */
+    public BitmapPool(long maxBytes) {
+        this.maxBytes = maxBytes;
+        buckets = new HashMap<>();
+    }
+
+    /** @return a bitmap an image of the size can be decoded into, or null if there isn't one */
+    @Nullable
+    public synchronized Bitmap get(int width, int height, Bitmap.Config config) {
+        if (Build.VERSION.SDK_INT >= 19) {
+            long needed = (long) width * height * bytesPerPixel(config);
+            // Some in its own bucket may be too small, but every one in the next is big enough.
+            long bucket = bucketOf(needed);
+            Bitmap bitmap = take(bucket, needed);
+            if (bitmap == null) {
+                bitmap = take(bucket + 1, needed);
+            }
+            return bitmap;
+        } else {
+            return take(exactKey(width, height, config), 0);
+        }
+    }
+
+    public synchronized void put(Bitmap bitmap) {
+        if (bitmap.isRecycled() || !bitmap.isMutable()) {
+            return;
+        }
+        int size = sizeOf(bitmap);
+        if (bytes + size > maxBytes) {
+            return;
+        }
+        long key;
+        if (Build.VERSION.SDK_INT >= 19) {
+            key = bucketOf(size);
+        } else {
+            key = exactKey(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+        }
+        List<Bitmap> bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayList<>();
+            buckets.put(key, bucket);
+        }
+        bucket.add(bitmap);
+        bytes += size;
+    }
+
+    public synchronized void clear() {
+        buckets.clear();
+        bytes = 0;
+    }
+
+    public synchronized long getSize() {
+        return bytes;
+    }
+
+    @Nullable
+    private Bitmap take(long key, long needed) {
+        List<Bitmap> bucket = buckets.get(key);
+        if (bucket == null) {
+            return null;
+        }
+        for (int i = bucket.size() - 1; i >= 0; i--) {
+            Bitmap bitmap = bucket.get(i);
+            int size = sizeOf(bitmap);
+            if (size >= needed) {
+                bucket.remove(i);
+                bytes -= size;
+                return bitmap;
+            }
+        }
+        return null;
+    }
+
+    private static long bucketOf(long size) {
+        return 63 - Long.numberOfLeadingZeros(size);
+    }
+
+    private static long exactKey(int width, int height, Bitmap.Config config) {
+        return ((long) width << 32) | ((long) height << 8) | config.ordinal();
+    }
+
+    @TargetApi(19)
+    private static int sizeOf(Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= 19) {
+            return bitmap.getAllocationByteCount();
+        } else {
+            return bitmap.getByteCount();
+        }
+    }
+
+    private static int bytesPerPixel(Bitmap.Config config) {
+        switch (config) {
+            case ALPHA_8: {
+                return 1;
+            }
+            case RGB_565:
+            case ARGB_4444: {
+                return 2;
+            }
+            default: {
+                return 4;
+            }
+        }
+    }
+}
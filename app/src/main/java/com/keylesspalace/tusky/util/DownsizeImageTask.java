@@ -31,7 +31,25 @@ import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Shrinks images until they're under a size limit. Each image is decoded only once, at about the
+ * resolution it'll end up at, and from then on the JPEG quality and the scale are searched for on
+ * the bitmap that's in memory, rather than decoding it again at every attempt.
+ */
 public class DownsizeImageTask extends AsyncTask<Uri, Void, Boolean> {
+    /* The most pixels that are decoded, which keeps the bitmap to 16 MB and is still more than
+     * the server keeps of an image. */
+    private static final long MAX_PIXELS = 2048 * 2048;
+    /* How many pixels of a photo fit in a byte of JPEG at the highest quality used. Photos are
+     * usually 2 to 4 bits a pixel there, so this errs on the side of them being bigger. */
+    private static final float PIXELS_PER_BYTE = 2;
+    private static final int MAX_QUALITY = 90;
+    private static final int MIN_QUALITY = 60;
+    /* The search for the quality stops once it's narrowed down to this. */
+    private static final int QUALITY_STEP = 5;
+    /* Each time it doesn't fit at the lowest quality, it's shrunk by at least this much. */
+    private static final float MAX_SCALE_STEP = 0.9f;
+
     private int sizeLimit;
     private ContentResolver contentResolver;
     private Listener listener;
@@ -43,13 +61,12 @@ public class DownsizeImageTask extends AsyncTask<Uri, Void, Boolean> {
         this.listener = listener;
     }
 
-    @Nullable
-    private static Bitmap reorientBitmap(Bitmap bitmap, int orientation) {
+    private static Matrix getOrientationMatrix(int orientation) {
         Matrix matrix = new Matrix();
         switch (orientation) {
             default:
             case ExifInterface.ORIENTATION_NORMAL: {
-                return bitmap;
+                break;
             }
             case ExifInterface.ORIENTATION_FLIP_HORIZONTAL: {
                 matrix.setScale(-1, 1);
@@ -83,16 +100,7 @@ public class DownsizeImageTask extends AsyncTask<Uri, Void, Boolean> {
                 break;
             }
         }
-        try {
-            Bitmap result = Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(),
-                    bitmap.getHeight(), matrix, true);
-            if (!bitmap.sameAs(result)) {
-                bitmap.recycle();
-            }
-            return result;
-        } catch (OutOfMemoryError e) {
-            return null;
-        }
+        return matrix;
     }
 
     private static int getOrientation(Uri uri, ContentResolver contentResolver) {
@@ -118,21 +126,27 @@ public class DownsizeImageTask extends AsyncTask<Uri, Void, Boolean> {
         return orientation;
     }
 
-    private static int calculateInSampleSize(int width, int height, int requiredScale) {
+    /**
+     * @return the smallest power of two to sample an image by for it to have no more than the
+     * given number of pixels
+     */
+    static int calculateInSampleSize(int width, int height, long maxPixels) {
         int inSampleSize = 1;
-        if (height > requiredScale || width > requiredScale) {
-            final int halfHeight = height / 2;
-            final int halfWidth = width / 2;
-            /* Calculate the largest inSampleSize value that is a power of 2 and keeps both height
-             * and width larger than the requested height and width. */
-            while (halfHeight / inSampleSize >= requiredScale
-                    && halfWidth / inSampleSize >= requiredScale) {
-                inSampleSize *= 2;
-            }
+        while ((long) (width / inSampleSize) * (height / inSampleSize) > maxPixels) {
+            inSampleSize *= 2;
         }
         return inSampleSize;
     }
 
+    /**
+     * @param size of the image at the lowest quality, at the current scale
+     * @return the next scale to try, shrunk in proportion to how far over the limit it was
+     */
+    static float shrinkScale(float scale, long size, long sizeLimit) {
+        float step = (float) Math.sqrt((double) sizeLimit / size);
+        return scale * Math.min(step, MAX_SCALE_STEP);
+    }
+
     @Override
     protected Boolean doInBackground(Uri... uris) {
         resultList = new ArrayList<>();
@@ -147,61 +161,46 @@ public class DownsizeImageTask extends AsyncTask<Uri, Void, Boolean> {
             BitmapFactory.Options options = new BitmapFactory.Options();
             options.inJustDecodeBounds = true;
             BitmapFactory.decodeStream(inputStream, null, options);
-            int beforeWidth = options.outWidth;
-            int beforeHeight = options.outHeight;
             IOUtils.closeQuietly(inputStream);
+            if (options.outWidth <= 0 || options.outHeight <= 0) {
+                return false;
+            }
             // Get EXIF data, for orientation info.
             int orientation = getOrientation(uri, contentResolver);
-            // Then use that information to determine how much to compress.
-            ByteArrayOutputStream stream = new ByteArrayOutputStream();
-            /* Unfortunately, there isn't a determined worst case compression ratio for image
-             * formats. So, the only way to tell if they're too big is to compress them and
-             * test, and keep trying at smaller sizes. The initial estimate should be good for
-             * many cases, so it should only iterate once, but the loop is used to be absolutely
-             * sure it gets downsized to below the limit. */
-            int iterations = 0;
-            int scaledImageSize = 1024;
-            do {
-                stream.reset();
-                try {
-                    inputStream = contentResolver.openInputStream(uri);
-                } catch (FileNotFoundException e) {
-                    return false;
-                }
-                options.inSampleSize = calculateInSampleSize(beforeWidth, beforeHeight,
-                        scaledImageSize);
-                options.inJustDecodeBounds = false;
-                Bitmap scaledBitmap;
-                try {
-                    scaledBitmap = BitmapFactory.decodeStream(inputStream, null, options);
-                } catch (OutOfMemoryError error) {
-                    return false;
-                } finally {
-                    IOUtils.closeQuietly(inputStream);
-                }
-                if (scaledBitmap == null) {
-                    return false;
-                }
-                Bitmap reorientedBitmap = reorientBitmap(scaledBitmap, orientation);
-                if (reorientedBitmap == null) {
-                    scaledBitmap.recycle();
-                    return false;
-                }
-                Bitmap.CompressFormat format;
-                /* It's not likely the user will give transparent images over the upload limit, but
-                 * if they do, make sure the transparency is retained. */
-                if (!reorientedBitmap.hasAlpha()) {
-                    format = Bitmap.CompressFormat.JPEG;
-                } else {
-                    format = Bitmap.CompressFormat.PNG;
-                }
-                reorientedBitmap.compress(format, 75, stream);
-                reorientedBitmap.recycle();
-                scaledImageSize /= 2;
-                iterations++;
-            } while (stream.size() > sizeLimit);
-            Assert.expect(iterations < 3);
-            resultList.add(stream.toByteArray());
+            /* Then decode it, the only time, at about as many pixels as should fit in the limit.
+             * Being a power of two, the sample size can leave it a bit smaller than that. */
+            long maxPixels = Math.min(MAX_PIXELS, (long) (sizeLimit * PIXELS_PER_BYTE));
+            options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight,
+                    maxPixels);
+            options.inJustDecodeBounds = false;
+            try {
+                inputStream = contentResolver.openInputStream(uri);
+            } catch (FileNotFoundException e) {
+                return false;
+            }
+            Bitmap decodedBitmap;
+            try {
+                decodedBitmap = BitmapFactory.decodeStream(inputStream, null, options);
+            } catch (OutOfMemoryError error) {
+                return false;
+            } finally {
+                IOUtils.closeQuietly(inputStream);
+            }
+            if (decodedBitmap == null) {
+                return false;
+            }
+            byte[] result;
+            try {
+                result = compressToFit(decodedBitmap, orientation);
+            } catch (OutOfMemoryError error) {
+                return false;
+            } finally {
+                decodedBitmap.recycle();
+            }
+            if (result == null) {
+                return false;
+            }
+            resultList.add(result);
             if (isCancelled()) {
                 return false;
             }
@@ -209,6 +208,77 @@ public class DownsizeImageTask extends AsyncTask<Uri, Void, Boolean> {
         return true;
     }
 
+    /* Finds the highest quality, and then the largest scale, at which the bitmap fits in the
+     * limit. Nearly always it fits as it is at the highest quality, and it's compressed once. */
+    @Nullable
+    private byte[] compressToFit(Bitmap decodedBitmap, int orientation) {
+        /* It's not likely the user will give transparent images over the upload limit, but if
+         * they do, make sure the transparency is retained. PNG has no quality to lower, so only
+         * the scale is searched for then. */
+        boolean png = decodedBitmap.hasAlpha();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        float scale = 1;
+        while (!isCancelled()) {
+            if (Math.round(decodedBitmap.getWidth() * scale) < 1
+                    || Math.round(decodedBitmap.getHeight() * scale) < 1) {
+                return null;
+            }
+            Bitmap bitmap = transform(decodedBitmap, orientation, scale);
+            try {
+                if (png) {
+                    if (compress(bitmap, Bitmap.CompressFormat.PNG, 100, stream)) {
+                        return stream.toByteArray();
+                    }
+                } else {
+                    if (compress(bitmap, Bitmap.CompressFormat.JPEG, MAX_QUALITY, stream)) {
+                        return stream.toByteArray();
+                    }
+                    if (compress(bitmap, Bitmap.CompressFormat.JPEG, MIN_QUALITY, stream)) {
+                        // It fits somewhere between the two.
+                        byte[] best = stream.toByteArray();
+                        int low = MIN_QUALITY;
+                        int high = MAX_QUALITY;
+                        while (high - low > QUALITY_STEP) {
+                            int quality = (low + high) / 2;
+                            if (compress(bitmap, Bitmap.CompressFormat.JPEG, quality, stream)) {
+                                best = stream.toByteArray();
+                                low = quality;
+                            } else {
+                                high = quality;
+                            }
+                        }
+                        return best;
+                    }
+                }
+            } finally {
+                if (bitmap != decodedBitmap) {
+                    bitmap.recycle();
+                }
+            }
+            scale = shrinkScale(scale, stream.size(), sizeLimit);
+        }
+        return null;
+    }
+
+    /* Rotates and scales it in one go, so there's only ever the one copy of it. */
+    private static Bitmap transform(Bitmap bitmap, int orientation, float scale) {
+        Matrix matrix = getOrientationMatrix(orientation);
+        matrix.postScale(scale, scale);
+        if (matrix.isIdentity()) {
+            return bitmap;
+        }
+        return Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix,
+                true);
+    }
+
+    /* @return whether it fits in the limit */
+    private boolean compress(Bitmap bitmap, Bitmap.CompressFormat format, int quality,
+            ByteArrayOutputStream stream) {
+        stream.reset();
+        bitmap.compress(format, quality, stream);
+        return stream.size() <= sizeLimit;
+    }
+
     @Override
     protected void onPostExecute(Boolean successful) {
         if (successful) {
@@ -17,9 +17,20 @@ package com.keylesspalace.tusky.util;
 
 import android.support.v7.widget.LinearLayoutManager;
 import android.support.v7.widget.RecyclerView;
+import android.view.View;
 
+/**
+ * Asks for more items before the end of the list is reached. How far ahead it asks depends on how
+ * fast the list is being scrolled, so a slow read doesn't fetch pages it won't get to, and a fling
+ * doesn't outrun the network and stop at the footer.
+ */
 public abstract class EndlessOnScrollListener extends RecyclerView.OnScrollListener {
-    private static final int VISIBLE_THRESHOLD = 15;
+    private static final int MIN_VISIBLE_THRESHOLD = 10;
+    private static final int MAX_VISIBLE_THRESHOLD = 40;
+    /* How many scroll events ahead to fetch for, at the speed the list is moving. At 60 events a
+     * second this is about two seconds, roughly how long a page takes on a slow connection. */
+    private static final int EVENTS_AHEAD = 120;
+    private float itemsPerEvent;
     private int currentPage;
     private int previousTotalItemCount;
     private boolean loading;
@@ -49,7 +60,8 @@ public abstract class EndlessOnScrollListener extends RecyclerView.OnScrollListe
             loading = false;
             previousTotalItemCount = totalItemCount;
         }
-        if (!loading && lastVisibleItemPosition + VISIBLE_THRESHOLD > totalItemCount) {
+        updateSpeed(view, dy);
+        if (!loading && lastVisibleItemPosition + getVisibleThreshold() > totalItemCount) {
             currentPage++;
             onLoadMore(currentPage, totalItemCount, view);
             loading = true;
@@ -60,6 +72,22 @@ public abstract class EndlessOnScrollListener extends RecyclerView.OnScrollListe
         currentPage = startingPageIndex;
         previousTotalItemCount = 0;
         loading = true;
+        itemsPerEvent = 0;
+    }
+
+    private void updateSpeed(RecyclerView view, int dy) {
+        View child = view.getChildAt(0);
+        if (child == null || child.getHeight() == 0) {
+            return;
+        }
+        // Scrolling up doesn't count towards it, and it's smoothed so one jump doesn't swing it.
+        float items = Math.max(dy, 0) / (float) child.getHeight();
+        itemsPerEvent = 0.8f * itemsPerEvent + 0.2f * items;
+    }
+
+    private int getVisibleThreshold() {
+        int threshold = MIN_VISIBLE_THRESHOLD + Math.round(itemsPerEvent * EVENTS_AHEAD);
+        return Math.min(threshold, MAX_VISIBLE_THRESHOLD);
     }
 
     public abstract void onLoadMore(int page, int totalItemsCount, RecyclerView view);
@@ -17,6 +17,7 @@ package com.keylesspalace.tusky.util;
 
 import android.support.annotation.Nullable;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -41,4 +42,14 @@ public class IOUtils {
             // intentionally unhandled
         }
     }
+
+    public static void closeQuietly(@Nullable Closeable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (IOException e) {
+            // intentionally unhandled
+        }
+    }
 }
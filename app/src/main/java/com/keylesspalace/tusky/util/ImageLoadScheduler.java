@@ -0,0 +1,90 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.content.Context;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+
+import com.squareup.picasso.Picasso;
+
+/**
+ * Holds back the images of a list while it's being flung, when rows go by too fast for anyone to
+ * see them, and lets them load once it slows down to being dragged or stops. Images already in
+ * the memory cache are still shown straight away.
+ *
+ * The list's image requests have to be tagged with {@link #getTag()}. The requests of rows that
+ * are scrolled away and recycled are cancelled, rather than left to finish for nothing.
+ */
+public class ImageLoadScheduler extends RecyclerView.OnScrollListener
+        implements RecyclerView.RecyclerListener {
+    private final Picasso picasso;
+    private boolean paused;
+
+    public ImageLoadScheduler(Context context) {
+        picasso = Picasso.with(context);
+    }
+
+    public void attach(RecyclerView recyclerView) {
+        recyclerView.addOnScrollListener(this);
+        recyclerView.setRecyclerListener(this);
+    }
+
+    public Object getTag() {
+        return this;
+    }
+
+    /** Cancels everything of the list that's still loading, for when it's done with. */
+    public void cancel() {
+        picasso.cancelTag(this);
+        if (paused) {
+            // Otherwise Picasso keeps holding on to the tag.
+            paused = false;
+            picasso.resumeTag(this);
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_SETTLING) {
+            if (!paused) {
+                paused = true;
+                picasso.pauseTag(this);
+            }
+        } else if (paused) {
+            paused = false;
+            picasso.resumeTag(this);
+        }
+    }
+
+    @Override
+    public void onViewRecycled(RecyclerView.ViewHolder holder) {
+        cancelRequests(holder.itemView);
+    }
+
+    private void cancelRequests(View view) {
+        if (view instanceof ImageView) {
+            picasso.cancelRequest((ImageView) view);
+        } else if (view instanceof ViewGroup) {
+            ViewGroup group = (ViewGroup) view;
+            for (int i = 0; i < group.getChildCount(); i++) {
+                cancelRequests(group.getChildAt(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.os.SystemClock;
+import android.support.v4.net.ConnectivityManagerCompat;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.RecyclerView;
+
+import com.keylesspalace.tusky.R;
+import com.keylesspalace.tusky.entity.Status;
+import com.squareup.picasso.Callback;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.RequestCreator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fetches the avatars and media previews of the rows a list is being scrolled towards, before
+ * they're on screen, so they're in Picasso's caches by the time they're bound. The faster it's
+ * scrolled, the further ahead it looks.
+ *
+ * Prefetches are low priority, only so many go at once, and none are made on a metered network or
+ * while the list is flung, when it can't be known where it'll stop.
+ */
+public class ImagePrefetcher extends RecyclerView.OnScrollListener {
+    /** Where the images of a list's items come from, usually its adapter. */
+    public interface ImageSource {
+        /** Adds the URLs of the avatars and media previews shown by an item to the lists. */
+        void getImageUrls(int position, List<String> avatarUrls, List<String> previewUrls);
+    }
+
+    private static final int MIN_ROWS_AHEAD = 3;
+    private static final int MAX_ROWS_AHEAD = 15;
+    /* How far ahead to look, as how long it'd take to scroll there at the current speed. */
+    private static final float SECONDS_AHEAD = 1.5f;
+    /* Prefetches going at once, past which no more are started until some finish. */
+    private static final int MAX_REQUESTS = 8;
+    /* Scrolls further apart than this are treated as the start of a new one. */
+    private static final long MAX_SCROLL_INTERVAL = 200; // milliseconds
+
+    private final Picasso picasso;
+    private final ConnectivityManager connectivityManager;
+    private final ImageSource source;
+    private final int avatarSize;
+    private final List<String> avatarUrls;
+    private final List<String> previewUrls;
+    private final Callback onFetched;
+    private int requests;
+    private boolean metered;
+    private int direction;
+    /* The furthest row prefetched in the direction it's scrolling, if any. */
+    private int prefetchedTo;
+    private long lastScrollTime;
+    private float pixelsPerSecond;
+
+    public ImagePrefetcher(Context context, ImageSource source) {
+        this.source = source;
+        picasso = Picasso.with(context);
+        connectivityManager =
+                (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        avatarSize = context.getResources().getDimensionPixelSize(R.dimen.avatar_size);
+        avatarUrls = new ArrayList<>();
+        previewUrls = new ArrayList<>();
+        prefetchedTo = RecyclerView.NO_POSITION;
+        onFetched = new Callback() {
+            @Override
+            public void onSuccess() {
+                requests--;
+            }
+
+            @Override
+            public void onError() {
+                requests--;
+            }
+        };
+    }
+
+    /** @param recyclerView which has to be laid out by a {@link LinearLayoutManager} */
+    public void attach(RecyclerView recyclerView) {
+        metered = ConnectivityManagerCompat.isActiveNetworkMetered(connectivityManager);
+        recyclerView.addOnScrollListener(this);
+    }
+
+    /** Cancels the prefetches still going, for when the list is done with. */
+    public void cancel() {
+        picasso.cancelTag(this);
+        requests = 0;
+    }
+
+    /** Adds the avatar and media previews of a status, as shown in a list. */
+    public static void addImageUrls(Status status, List<String> avatarUrls,
+            List<String> previewUrls) {
+        Status realStatus = status.getActionableStatus();
+        if (realStatus.account.avatar != null && !realStatus.account.avatar.isEmpty()) {
+            avatarUrls.add(realStatus.account.avatar);
+        }
+        Status.MediaAttachment[] attachments = realStatus.attachments;
+        int n = Math.min(attachments.length, Status.MAX_MEDIA_ATTACHMENTS);
+        for (int i = 0; i < n; i++) {
+            String previewUrl = attachments[i].previewUrl;
+            if (previewUrl != null && !previewUrl.isEmpty()) {
+                previewUrls.add(previewUrl);
+            }
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(RecyclerView recyclerView, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_DRAGGING) {
+            // The network may have changed since the last time it was scrolled.
+            metered = ConnectivityManagerCompat.isActiveNetworkMetered(connectivityManager);
+        }
+    }
+
+    @Override
+    public void onScrolled(RecyclerView recyclerView, int dx, int dy) {
+        if (dy == 0 || metered
+                || recyclerView.getScrollState() == RecyclerView.SCROLL_STATE_SETTLING) {
+            return;
+        }
+        long now = SystemClock.uptimeMillis();
+        long elapsed = now - lastScrollTime;
+        lastScrollTime = now;
+        if (elapsed > 0 && elapsed < MAX_SCROLL_INTERVAL) {
+            // Averaged with the last speed, as a single scroll event can be jumpy.
+            pixelsPerSecond = (pixelsPerSecond + Math.abs(dy) * 1000f / elapsed) / 2;
+        } else {
+            pixelsPerSecond = 0;
+        }
+        int newDirection = dy > 0 ? 1 : -1;
+        if (newDirection != direction) {
+            direction = newDirection;
+            prefetchedTo = RecyclerView.NO_POSITION;
+        }
+
+        LinearLayoutManager layoutManager = (LinearLayoutManager) recyclerView.getLayoutManager();
+        int first = layoutManager.findFirstVisibleItemPosition();
+        int last = layoutManager.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) {
+            return;
+        }
+        float rowHeight = (float) recyclerView.getHeight() / (last - first + 1);
+        int ahead = (int) (pixelsPerSecond * SECONDS_AHEAD / rowHeight);
+        ahead = Math.max(MIN_ROWS_AHEAD, Math.min(ahead, MAX_ROWS_AHEAD));
+
+        if (direction > 0) {
+            int from = last + 1;
+            if (prefetchedTo != RecyclerView.NO_POSITION) {
+                from = Math.max(from, prefetchedTo + 1);
+            }
+            int to = Math.min(last + ahead, recyclerView.getAdapter().getItemCount() - 1);
+            for (int i = from; i <= to && requests < MAX_REQUESTS; i++) {
+                prefetch(i);
+                prefetchedTo = i;
+            }
+        } else {
+            int from = first - 1;
+            if (prefetchedTo != RecyclerView.NO_POSITION) {
+                from = Math.min(from, prefetchedTo - 1);
+            }
+            int to = Math.max(first - ahead, 0);
+            for (int i = from; i >= to && requests < MAX_REQUESTS; i--) {
+                prefetch(i);
+                prefetchedTo = i;
+            }
+        }
+    }
+
+    private void prefetch(int position) {
+        avatarUrls.clear();
+        previewUrls.clear();
+        source.getImageUrls(position, avatarUrls, previewUrls);
+        // These have to be the same requests the rows make, to be cached under the same keys.
+        for (String url : avatarUrls) {
+            fetch(AvatarLoader.createRequest(picasso, url, avatarSize));
+        }
+        for (String url : previewUrls) {
+            fetch(MediaPreviewLoader.createPrefetchRequest(picasso, url));
+        }
+    }
+
+    private void fetch(RequestCreator request) {
+        requests++;
+        request.priority(Picasso.Priority.LOW)
+                .tag(this)
+                .fetch(onFetched);
+    }
+}
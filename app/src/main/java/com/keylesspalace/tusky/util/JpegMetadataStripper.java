@@ -0,0 +1,237 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import java.io.IOException;
+
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.ByteString;
+
+/**
+ * Rewrites a JPEG without its metadata, such as the EXIF with where and when it was taken and on
+ * what camera, XMP, IPTC, comments, and anything tacked on after the end of the image. The image
+ * data itself is copied as it is, segment by segment, so nothing is decoded, no quality is lost,
+ * and only one segment at a time is held in memory.
+ *
+ * Kept are the segments needed to show it the same way: the JFIF header, any ICC colour profile
+ * and the Adobe segment, which says how the colours are encoded. The EXIF orientation is the one
+ * thing kept from the metadata, in an EXIF segment of its own, or the image would be shown on its
+ * side.
+ */
+public class JpegMetadataStripper {
+    private static final int SOI = 0xD8;
+    private static final int EOI = 0xD9;
+    private static final int SOS = 0xDA;
+    private static final int RST0 = 0xD0;
+    private static final int RST7 = 0xD7;
+    private static final int TEM = 0x01;
+    private static final int APP0 = 0xE0;
+    private static final int APP1 = 0xE1;
+    private static final int APP2 = 0xE2;
+    private static final int APP14 = 0xEE;
+    private static final int APP15 = 0xEF;
+    private static final int COM = 0xFE;
+    private static final ByteString EXIF = ByteString.encodeUtf8("Exif\0\0");
+    private static final ByteString ICC_PROFILE = ByteString.encodeUtf8("ICC_PROFILE\0");
+    private static final int TAG_ORIENTATION = 0x0112;
+    private static final int TYPE_SHORT = 3;
+    static final int ORIENTATION_NORMAL = 1;
+    private static final int ORIENTATION_MAX = 8;
+
+    /**
+     * Copies a JPEG from the source to the sink without its metadata.
+     *
+     * @throws IOException if it isn't a JPEG, or it can't be made sense of
+     */
+    public static void strip(BufferedSource source, BufferedSink sink) throws IOException {
+        if ((source.readShort() & 0xFFFF) != (0xFF00 | SOI)) {
+            throw new IOException("It isn't a JPEG.");
+        }
+        writeMarker(sink, SOI);
+        boolean exifSeen = false;
+        int marker = readMarker(source);
+        while (true) {
+            if (marker == EOI) {
+                // Whatever's after the end isn't part of the image.
+                writeMarker(sink, EOI);
+                return;
+            }
+            if (marker == TEM || (marker >= RST0 && marker <= RST7)) {
+                // These have no length or contents.
+                writeMarker(sink, marker);
+                marker = readMarker(source);
+                continue;
+            }
+            int length = source.readShort() & 0xFFFF;
+            if (length < 2) {
+                throw new IOException("A segment's length is wrong.");
+            }
+            long contentLength = length - 2;
+            if (marker == APP1 && !exifSeen && source.rangeEquals(0, EXIF)) {
+                exifSeen = true;
+                int orientation = readOrientation(source.readByteArray(contentLength));
+                if (orientation != ORIENTATION_NORMAL) {
+                    writeOrientation(sink, orientation);
+                }
+            } else if (isKept(marker, source)) {
+                writeMarker(sink, marker);
+                sink.writeShort(length);
+                sink.write(source, contentLength);
+            } else {
+                source.skip(contentLength);
+            }
+            if (marker == SOS) {
+                marker = copyScan(source, sink);
+                if (marker == -1) {
+                    return;
+                }
+            } else {
+                marker = readMarker(source);
+            }
+        }
+    }
+
+    private static boolean isKept(int marker, BufferedSource source) throws IOException {
+        if (marker == APP2) {
+            return source.rangeEquals(0, ICC_PROFILE);
+        }
+        if (marker == APP0 || marker == APP14) {
+            return true;
+        }
+        return (marker < APP0 || marker > APP15) && marker != COM;
+    }
+
+    private static int readMarker(BufferedSource source) throws IOException {
+        if ((source.readByte() & 0xFF) != 0xFF) {
+            throw new IOException("Expected a marker.");
+        }
+        int marker;
+        do {
+            // Markers can be padded with any number of extra 0xFFs.
+            marker = source.readByte() & 0xFF;
+        } while (marker == 0xFF);
+        return marker;
+    }
+
+    private static void writeMarker(BufferedSink sink, int marker) throws IOException {
+        sink.writeByte(0xFF);
+        sink.writeByte(marker);
+    }
+
+    /**
+     * Copies the image data after the start of a scan, up to the marker after it.
+     *
+     * @return that marker, or -1 if the data ran out without one
+     */
+    private static int copyScan(BufferedSource source, BufferedSink sink) throws IOException {
+        while (true) {
+            long index = source.indexOf((byte) 0xFF);
+            if (index == -1) {
+                // It's cut short, but what there is of it can still be shown.
+                sink.writeAll(source);
+                return -1;
+            }
+            sink.write(source, index);
+            source.skip(1);
+            if (source.exhausted()) {
+                return -1;
+            }
+            int next = source.readByte() & 0xFF;
+            while (next == 0xFF && !source.exhausted()) {
+                next = source.readByte() & 0xFF;
+            }
+            // A zero after 0xFF is just an 0xFF in the data, and restart markers are part of it.
+            if (next == 0 || (next >= RST0 && next <= RST7)) {
+                writeMarker(sink, next);
+            } else {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Finds the orientation in an EXIF segment, from its "Exif" header on.
+     *
+     * @return one of ExifInterface's orientations, or normal if it has none or it can't be read
+     */
+    static int readOrientation(byte[] exif) {
+        int tiff = EXIF.size();
+        if (exif.length < tiff + 8) {
+            return ORIENTATION_NORMAL;
+        }
+        boolean littleEndian;
+        if (exif[tiff] == 'I' && exif[tiff + 1] == 'I') {
+            littleEndian = true;
+        } else if (exif[tiff] == 'M' && exif[tiff + 1] == 'M') {
+            littleEndian = false;
+        } else {
+            return ORIENTATION_NORMAL;
+        }
+        long ifd = tiff + readInt(exif, tiff + 4, littleEndian);
+        if (ifd < tiff || ifd + 2 > exif.length) {
+            return ORIENTATION_NORMAL;
+        }
+        int count = readShort(exif, (int) ifd, littleEndian);
+        for (int i = 0; i < count; i++) {
+            int entry = (int) ifd + 2 + 12 * i;
+            if (entry + 12 > exif.length) {
+                break;
+            }
+            if (readShort(exif, entry, littleEndian) == TAG_ORIENTATION
+                    && readShort(exif, entry + 2, littleEndian) == TYPE_SHORT) {
+                int orientation = readShort(exif, entry + 8, littleEndian);
+                if (orientation >= ORIENTATION_NORMAL && orientation <= ORIENTATION_MAX) {
+                    return orientation;
+                }
+                return ORIENTATION_NORMAL;
+            }
+        }
+        return ORIENTATION_NORMAL;
+    }
+
+    private static int readShort(byte[] data, int offset, boolean littleEndian) {
+        int a = data[offset] & 0xFF;
+        int b = data[offset + 1] & 0xFF;
+        return littleEndian ? (b << 8) | a : (a << 8) | b;
+    }
+
+    private static long readInt(byte[] data, int offset, boolean littleEndian) {
+        long high = readShort(data, littleEndian ? offset + 2 : offset, littleEndian);
+        long low = readShort(data, littleEndian ? offset : offset + 2, littleEndian);
+        return (high << 16) | low;
+    }
+
+    /* Writes an EXIF segment with nothing in it but the orientation. */
+    private static void writeOrientation(BufferedSink sink, int orientation) throws IOException {
+        writeMarker(sink, APP1);
+        // The length, the header, the TIFF header, and the one directory with its one entry.
+        sink.writeShort(2 + EXIF.size() + 8 + 2 + 12 + 4);
+        sink.write(EXIF);
+        // Big-endian, with the directory straight after the header.
+        sink.writeUtf8("MM");
+        sink.writeShort(42);
+        sink.writeInt(8);
+        sink.writeShort(1);
+        sink.writeShort(TAG_ORIENTATION);
+        sink.writeShort(TYPE_SHORT);
+        sink.writeInt(1);
+        sink.writeShort(orientation);
+        sink.writeShort(0);
+        // There's no next directory.
+        sink.writeInt(0);
+    }
+}
@@ -15,7 +15,9 @@
 
 package com.keylesspalace.tusky.util;
 
+import android.preference.PreferenceManager;
 import android.support.annotation.Nullable;
+import android.text.SpannableString;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
 import android.text.method.LinkMovementMethod;
@@ -24,10 +26,83 @@ import android.text.style.URLSpan;
 import android.view.View;
 import android.widget.TextView;
 
+import com.keylesspalace.tusky.R;
 import com.keylesspalace.tusky.entity.Status;
 import com.keylesspalace.tusky.interfaces.LinkListener;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class LinkHelper {
+    /**
+     * Builds the text of a status from its HTML with its links already made into the spans it's
+     * shown with, tags and mentions opening their pages in the app. Those don't hold on to a
+     * listener, so the text can be kept and shown again in any view set up with
+     * {@link #setClickableText(TextView, Spanned, LinkListener)}.
+     */
+    public static Spanned createClickableText(String html, @Nullable Status.Mention[] mentions) {
+        MastodonHtmlParser parser = new MastodonHtmlParser(html);
+        String text = parser.getText();
+        List<MastodonHtmlParser.Link> links = parser.getLinks();
+        SpannableString content = new SpannableString(text);
+        Map<String, String> mentionIds = null;
+        for (MastodonHtmlParser.Link link : links) {
+            Object span = null;
+            char first = text.charAt(link.start);
+            if (first == '#' && link.end - link.start > 1) {
+                span = new TagSpan(text.substring(link.start + 1, link.end));
+            } else if (first == '@' && mentions != null) {
+                if (mentionIds == null) {
+                    mentionIds = indexMentions(mentions);
+                }
+                /* Accounts on different instances can share a username, so its URL is the surer
+                 * way to tell which was mentioned. */
+                String accountId = mentionIds.get(link.url);
+                if (accountId == null) {
+                    accountId = mentionIds.get(text.substring(link.start + 1, link.end));
+                }
+                if (accountId != null) {
+                    span = new AccountSpan(accountId);
+                }
+            }
+            if (span == null) {
+                span = new StatusURLSpan(link.url);
+            }
+            content.setSpan(span, link.start, link.end, Spanned.SPAN_EXCLUSIVE_EXCLUSIVE);
+        }
+        return content;
+    }
+
+    /* The account id of each mention, by both its URL and its username. A URL can't be mistaken
+     * for a username, since it has slashes in it. */
+    private static Map<String, String> indexMentions(Status.Mention[] mentions) {
+        Map<String, String> ids = new HashMap<>(4 * mentions.length);
+        for (Status.Mention mention : mentions) {
+            if (mention.url != null) {
+                ids.put(mention.url, mention.id);
+            }
+            if (mention.localUsername != null && !ids.containsKey(mention.localUsername)) {
+                ids.put(mention.localUsername, mention.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Shows text made by {@link #createClickableText}, its links opening through the listener.
+     * The text is shown as it is, so when a view is bound again with the same listener, as in a
+     * list, this comes down to setting the text.
+     */
+    public static void setClickableText(TextView view, Spanned content, LinkListener listener) {
+        if (view.getTag(R.id.link_listener) != listener) {
+            view.setTag(R.id.link_listener, listener);
+            view.setLinksClickable(true);
+            view.setMovementMethod(LinkMovementMethod.getInstance());
+        }
+        view.setText(content);
+    }
+
     public static void setClickableText(TextView view, Spanned content,
                                         @Nullable Status.Mention[] mentions, boolean useCustomTabs,
                                         final LinkListener listener) {
@@ -77,4 +152,61 @@ public class LinkHelper {
         view.setLinksClickable(true);
         view.setMovementMethod(LinkMovementMethod.getInstance());
     }
+
+    @Nullable
+    private static LinkListener getListener(View widget) {
+        return (LinkListener) widget.getTag(R.id.link_listener);
+    }
+
+    private static class TagSpan extends ClickableSpan {
+        private final String tag;
+
+        TagSpan(String tag) {
+            this.tag = tag;
+        }
+
+        @Override
+        public void onClick(View widget) {
+            LinkListener listener = getListener(widget);
+            if (listener != null) {
+                listener.onViewTag(tag);
+            }
+        }
+    }
+
+    private static class AccountSpan extends ClickableSpan {
+        private final String accountId;
+
+        AccountSpan(String accountId) {
+            this.accountId = accountId;
+        }
+
+        @Override
+        public void onClick(View widget) {
+            LinkListener listener = getListener(widget);
+            if (listener != null) {
+                listener.onViewAccount(accountId);
+            }
+        }
+    }
+
+    /* Whether links open in a custom tab is checked when one is opened rather than when the text
+     * is made, so text that's kept follows the preference. */
+    private static class StatusURLSpan extends URLSpan {
+        StatusURLSpan(String url) {
+            super(url);
+        }
+
+        @Override
+        public void onClick(View widget) {
+            boolean useCustomTabs = PreferenceManager
+                    .getDefaultSharedPreferences(widget.getContext())
+                    .getBoolean("useCustomTabs", true);
+            if (useCustomTabs) {
+                new CustomTabURLSpan(getURL()).onClick(widget);
+            } else {
+                super.onClick(widget);
+            }
+        }
+    }
 }
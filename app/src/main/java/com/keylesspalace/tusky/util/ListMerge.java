@@ -0,0 +1,70 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Merges freshly fetched pages into lists that are ordered newest first, such as timelines. */
+public class ListMerge {
+    public interface IdGetter<T> {
+        String getId(T item);
+    }
+
+    /**
+     * Puts a page of the newest items on top of the current ones. Current items that are newer
+     * than the oldest of the page, but aren't in it, are dropped because they must have been
+     * deleted. Neither list is modified.
+     */
+    public static <T> List<T> mergeNewer(List<T> current, List<T> newer, IdGetter<T> idGetter) {
+        if (newer.isEmpty()) {
+            return new ArrayList<>(current);
+        }
+        if (current.isEmpty()) {
+            return new ArrayList<>(newer);
+        }
+        Map<String, Integer> currentIndex = indexById(current, idGetter);
+        Integer oldestNewIndex = currentIndex.get(idGetter.getId(newer.get(newer.size() - 1)));
+        int dropped = oldestNewIndex == null ? 0 : oldestNewIndex;
+        String keptTopId = idGetter.getId(current.get(dropped));
+        int overlap = -1;
+        for (int i = 0; i < newer.size(); i++) {
+            if (keptTopId.equals(idGetter.getId(newer.get(i)))) {
+                overlap = i;
+                break;
+            }
+        }
+        List<T> added = overlap == -1 ? newer : newer.subList(0, overlap);
+        List<T> merged = new ArrayList<>(added.size() + current.size() - dropped);
+        merged.addAll(added);
+        merged.addAll(current.subList(dropped, current.size()));
+        return merged;
+    }
+
+    public static <T> Map<String, Integer> indexById(List<T> items, IdGetter<T> idGetter) {
+        Map<String, Integer> index = new HashMap<>(items.size() * 2);
+        for (int i = 0; i < items.size(); i++) {
+            String id = idGetter.getId(items.get(i));
+            // Like indexOf, a repeated item is found at its first position.
+            if (!index.containsKey(id)) {
+                index.put(id, i);
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,374 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the HTML of a status into its text and the links in it, in a single pass.
+ *
+ * Mastodon only sends a few tags, p, br, a and span, so those are all it knows. Any other tag is
+ * left out and the text in it kept. Like the web interface, the parts of a link in spans marked
+ * "invisible" are left out, such as the "https://" of every link, and the ones marked "ellipsis"
+ * are followed by one. Whitespace is collapsed and paragraphs are separated by a blank line, as
+ * Html.fromHtml does.
+ */
+public class MastodonHtmlParser {
+    private static final char ELLIPSIS = '\u2026';
+
+    private static final int SPAN_PLAIN = 0;
+    private static final int SPAN_INVISIBLE = 1;
+    private static final int SPAN_ELLIPSIS = 2;
+
+    public static class Link {
+        public final int start;
+        public final int end;
+        public final String url;
+
+        Link(int start, int end, String url) {
+            this.start = start;
+            this.end = end;
+            this.url = url;
+        }
+    }
+
+    private final String html;
+    private final StringBuilder text;
+    private final List<Link> links;
+    /* The kind of each span that's open, innermost last. */
+    private int[] spans;
+    private int spanDepth;
+    private int invisibleDepth;
+    private String linkUrl;
+    private int linkStart;
+
+    public MastodonHtmlParser(String html) {
+        this.html = html;
+        text = new StringBuilder(html.length());
+        links = new ArrayList<>();
+        spans = new int[4];
+        parse();
+    }
+
+    public String getText() {
+        return text.toString();
+    }
+
+    /** @return the links in the text, in order */
+    public List<Link> getLinks() {
+        return links;
+    }
+
+    private void parse() {
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '<') {
+                i = readTag(i);
+            } else if (c == '&') {
+                i = readEntity(i);
+            } else if (isWhitespace(c)) {
+                appendSpace();
+                i++;
+            } else {
+                appendText(c);
+                i++;
+            }
+        }
+        // Every status ends with a paragraph, which leaves a blank line after it.
+        int end = text.length();
+        while (end > 0 && Character.isWhitespace(text.charAt(end - 1))) {
+            end--;
+        }
+        text.setLength(end);
+    }
+
+    /** @return where the text continues after the tag at start */
+    private int readTag(int start) {
+        int length = html.length();
+        if (html.startsWith("<!--", start)) {
+            int end = html.indexOf("-->", start + 4);
+            return end == -1 ? length : end + 3;
+        }
+        int i = start + 1;
+        boolean closing = i < length && html.charAt(i) == '/';
+        if (closing) {
+            i++;
+        }
+        int nameStart = i;
+        while (i < length && isNameChar(html.charAt(i))) {
+            i++;
+        }
+        if (i == nameStart) {
+            // Not a tag, just a less-than sign.
+            appendText('<');
+            return start + 1;
+        }
+        String name = html.substring(nameStart, i).toLowerCase();
+        String href = null;
+        String className = null;
+        // The attributes.
+        while (i < length) {
+            char c = html.charAt(i);
+            if (c == '>') {
+                break;
+            } else if (isNameChar(c)) {
+                int attributeStart = i;
+                while (i < length && isNameChar(html.charAt(i))) {
+                    i++;
+                }
+                String attribute = html.substring(attributeStart, i).toLowerCase();
+                while (i < length && isWhitespace(html.charAt(i))) {
+                    i++;
+                }
+                if (i >= length || html.charAt(i) != '=') {
+                    continue;
+                }
+                i++;
+                while (i < length && isWhitespace(html.charAt(i))) {
+                    i++;
+                }
+                int valueStart;
+                int valueEnd;
+                if (i < length && (html.charAt(i) == '"' || html.charAt(i) == '\'')) {
+                    valueStart = i + 1;
+                    valueEnd = html.indexOf(html.charAt(i), valueStart);
+                    if (valueEnd == -1) {
+                        valueEnd = length;
+                    }
+                    i = Math.min(valueEnd + 1, length);
+                } else {
+                    valueStart = i;
+                    while (i < length && !isWhitespace(html.charAt(i))
+                            && html.charAt(i) != '>') {
+                        i++;
+                    }
+                    valueEnd = i;
+                }
+                if (attribute.equals("href")) {
+                    href = decode(html.substring(valueStart, valueEnd));
+                } else if (attribute.equals("class")) {
+                    className = html.substring(valueStart, valueEnd);
+                }
+            } else {
+                i++;
+            }
+        }
+        if (closing) {
+            closeTag(name);
+        } else {
+            openTag(name, href, className);
+        }
+        return Math.min(i + 1, length);
+    }
+
+    private void openTag(String name, String href, String className) {
+        switch (name) {
+            case "p": {
+                endParagraph();
+                break;
+            }
+            case "br": {
+                if (invisibleDepth == 0) {
+                    text.append('\n');
+                }
+                break;
+            }
+            case "a": {
+                linkUrl = href;
+                linkStart = text.length();
+                break;
+            }
+            case "span": {
+                int kind = SPAN_PLAIN;
+                if (hasClass(className, "invisible")) {
+                    kind = SPAN_INVISIBLE;
+                    invisibleDepth++;
+                } else if (hasClass(className, "ellipsis")) {
+                    kind = SPAN_ELLIPSIS;
+                }
+                if (spanDepth == spans.length) {
+                    int[] grown = new int[2 * spanDepth];
+                    System.arraycopy(spans, 0, grown, 0, spanDepth);
+                    spans = grown;
+                }
+                spans[spanDepth] = kind;
+                spanDepth++;
+                break;
+            }
+        }
+    }
+
+    private void closeTag(String name) {
+        switch (name) {
+            case "p": {
+                endParagraph();
+                break;
+            }
+            case "a": {
+                if (linkUrl != null && text.length() > linkStart) {
+                    links.add(new Link(linkStart, text.length(), linkUrl));
+                }
+                linkUrl = null;
+                break;
+            }
+            case "span": {
+                if (spanDepth == 0) {
+                    break;
+                }
+                spanDepth--;
+                int kind = spans[spanDepth];
+                if (kind == SPAN_INVISIBLE) {
+                    invisibleDepth--;
+                } else if (kind == SPAN_ELLIPSIS && invisibleDepth == 0) {
+                    text.append(ELLIPSIS);
+                }
+                break;
+            }
+        }
+    }
+
+    /** @return where the text continues after the entity, or character reference, at start */
+    private int readEntity(int start) {
+        int end = html.indexOf(';', start);
+        // Entities are short, a lone ampersand followed by a semicolon far later isn't one.
+        if (end == -1 || end - start > 10) {
+            appendText('&');
+            return start + 1;
+        }
+        int c = decodeEntity(html, start + 1, end);
+        if (c == -1) {
+            appendText('&');
+            return start + 1;
+        }
+        if (invisibleDepth == 0) {
+            text.appendCodePoint(c);
+        }
+        return end + 1;
+    }
+
+    /** @return the character named by html[start, end), or -1 if it doesn't name one */
+    private static int decodeEntity(String html, int start, int end) {
+        if (start >= end) {
+            return -1;
+        }
+        if (html.charAt(start) == '#') {
+            try {
+                int c;
+                if (start + 1 < end && (html.charAt(start + 1) == 'x'
+                        || html.charAt(start + 1) == 'X')) {
+                    c = Integer.parseInt(html.substring(start + 2, end), 16);
+                } else {
+                    c = Integer.parseInt(html.substring(start + 1, end));
+                }
+                return Character.isValidCodePoint(c) ? c : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        switch (html.substring(start, end)) {
+            case "amp":  return '&';
+            case "lt":   return '<';
+            case "gt":   return '>';
+            case "quot": return '"';
+            case "apos": return '\'';
+            case "nbsp": return '\u00a0';
+            default:     return -1;
+        }
+    }
+
+    /** Decodes the entities in an attribute value, which are only there in links with queries. */
+    private static String decode(String value) {
+        if (value.indexOf('&') == -1) {
+            return value;
+        }
+        StringBuilder builder = new StringBuilder(value.length());
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            int end = c == '&' ? value.indexOf(';', i) : -1;
+            int decoded = end == -1 ? -1 : decodeEntity(value, i + 1, end);
+            if (decoded == -1) {
+                builder.append(c);
+                i++;
+            } else {
+                builder.appendCodePoint(decoded);
+                i = end + 1;
+            }
+        }
+        return builder.toString();
+    }
+
+    private void appendText(char c) {
+        if (invisibleDepth == 0) {
+            text.append(c);
+        }
+    }
+
+    private void appendSpace() {
+        if (invisibleDepth > 0) {
+            return;
+        }
+        int length = text.length();
+        if (length > 0 && text.charAt(length - 1) != ' ' && text.charAt(length - 1) != '\n') {
+            text.append(' ');
+        }
+    }
+
+    /* Paragraphs are set apart from whatever is around them by a blank line. */
+    private void endParagraph() {
+        int length = text.length();
+        if (length == 0) {
+            return;
+        }
+        if (text.charAt(length - 1) == ' ') {
+            text.setLength(length - 1);
+            length--;
+        }
+        if (length > 0 && text.charAt(length - 1) != '\n') {
+            text.append("\n\n");
+        } else if (length > 1 && text.charAt(length - 2) != '\n') {
+            text.append('\n');
+        }
+    }
+
+    private static boolean hasClass(String className, String name) {
+        if (className == null) {
+            return false;
+        }
+        int i = className.indexOf(name);
+        while (i != -1) {
+            int end = i + name.length();
+            if ((i == 0 || isWhitespace(className.charAt(i - 1)))
+                    && (end == className.length() || isWhitespace(className.charAt(end)))) {
+                return true;
+            }
+            i = className.indexOf(name, end);
+        }
+        return false;
+    }
+
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '_' || c == ':';
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f';
+    }
+}
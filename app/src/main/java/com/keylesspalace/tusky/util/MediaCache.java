@@ -0,0 +1,347 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.os.AsyncTask;
+import android.support.annotation.WorkerThread;
+
+import java.io.File;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.BufferedSink;
+import okio.BufferedSource;
+import okio.Okio;
+
+/**
+ * Full-size media, kept in files so the viewers never need to hold a whole download in memory,
+ * and so what's been prefetched is there when it's opened. Of videos, only the start is
+ * prefetched, which is kept apart from the complete files.
+ *
+ * Prefetches go through a client of their own that only makes one request at a time, so they
+ * don't take much from whatever's being viewed.
+ */
+public class MediaCache {
+    private static final String TAG = "MediaCache"; // logging tag
+    /* How much of a video is prefetched, enough for the first seconds of it. */
+    private static final long VIDEO_PREFETCH_BYTES = 1024 * 1024;
+    private static final String PARTIAL_SUFFIX = ".part";
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+    /* How long a temporary file is given to be written, past which it's taken to be left over
+     * from a download that never finished, such as when the app was killed part way through. */
+    private static final long TEMPORARY_MAX_AGE = 60 * 60 * 1000; // milliseconds
+
+    public interface Listener {
+        @WorkerThread
+        void onFetched(File file);
+        @WorkerThread
+        void onFailed(IOException e);
+    }
+
+    /** Something being downloaded, which can be stopped. */
+    public static class Download {
+        private final List<Call> calls = new ArrayList<>();
+        private boolean canceled;
+
+        public synchronized void cancel() {
+            canceled = true;
+            for (Call call : calls) {
+                call.cancel();
+            }
+        }
+
+        public synchronized boolean isCanceled() {
+            return canceled;
+        }
+
+        synchronized boolean add(Call call) {
+            if (canceled) {
+                return false;
+            }
+            calls.add(call);
+            return true;
+        }
+    }
+
+    private final File directory;
+    private final long maxSize;
+    private final OkHttpClient client;
+    private final OkHttpClient prefetchClient;
+
+    /** @param maxSize in bytes, past which the files used longest ago are deleted */
+    public MediaCache(File directory, long maxSize, OkHttpClient client) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+        this.client = client;
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(1);
+        prefetchClient = client.newBuilder()
+                .dispatcher(dispatcher)
+                .build();
+    }
+
+    /** @return where the whole of a URL is kept, which may not exist yet */
+    public File getFile(String url) {
+        return new File(directory, keyOf(url));
+    }
+
+    /** @return where the start of a video is kept after it's prefetched, if it isn't whole */
+    public File getPartialFile(String url) {
+        return new File(directory, keyOf(url) + PARTIAL_SUFFIX);
+    }
+
+    /** Gets the whole of a URL into a file, downloading it if it isn't already there. */
+    public Download fetch(String url, final Listener listener) {
+        final Download download = new Download();
+        final File file = getFile(url);
+        if (file.exists()) {
+            // Used again, so it's kept longer.
+            file.setLastModified(System.currentTimeMillis());
+            AsyncTask.THREAD_POOL_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    if (!download.isCanceled()) {
+                        listener.onFetched(file);
+                    }
+                }
+            });
+            return download;
+        }
+        Call call = client.newCall(new Request.Builder().url(url).build());
+        download.add(call);
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (!download.isCanceled()) {
+                    listener.onFailed(e);
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try {
+                    save(response, file, 0);
+                    if (!download.isCanceled()) {
+                        listener.onFetched(file);
+                    }
+                } catch (IOException e) {
+                    if (!download.isCanceled()) {
+                        listener.onFailed(e);
+                    }
+                }
+            }
+        });
+        return download;
+    }
+
+    /**
+     * Downloads media that's likely to be opened next, in the order given, unless it's already
+     * here.
+     *
+     * @param videos whether each is a video, of which only the start is downloaded
+     */
+    public Download prefetch(String[] urls, boolean[] videos) {
+        Download download = new Download();
+        for (int i = 0; i < urls.length; i++) {
+            final File file = getFile(urls[i]);
+            final File partialFile = getPartialFile(urls[i]);
+            final boolean video = videos[i];
+            if (file.exists() || (video && partialFile.exists())) {
+                continue;
+            }
+            Call call = prefetchClient.newCall(new Request.Builder().url(urls[i]).build());
+            if (!download.add(call)) {
+                break;
+            }
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    if (!call.isCanceled()) {
+                        Log.d(TAG, "Prefetch failed. " + e.getMessage());
+                    }
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try {
+                        if (video) {
+                            boolean whole = save(response, partialFile, VIDEO_PREFETCH_BYTES);
+                            if (whole && !partialFile.renameTo(file)) {
+                                Log.w(TAG, "Couldn't move the whole of a video into place.");
+                            }
+                        } else {
+                            save(response, file, 0);
+                        }
+                    } catch (IOException e) {
+                        if (!call.isCanceled()) {
+                            Log.d(TAG, "Prefetch failed. " + e.getMessage());
+                        }
+                    }
+                }
+            });
+        }
+        return download;
+    }
+
+    /**
+     * Writes a response into a file, through a temporary one so the file is never seen half
+     * written.
+     *
+     * @param limit the most bytes to write, or 0 for all of them
+     * @return whether all of the response was written
+     */
+    @WorkerThread
+    private boolean save(Response response, File file, long limit) throws IOException {
+        File temporary = null;
+        boolean whole;
+        try {
+            if (!response.isSuccessful()) {
+                throw new IOException("Unexpected response " + response.code());
+            }
+            temporary = createTemporaryFile();
+            BufferedSource source = response.body().source();
+            BufferedSink sink = Okio.buffer(Okio.sink(temporary));
+            try {
+                if (limit == 0) {
+                    sink.writeAll(source);
+                    whole = true;
+                } else {
+                    whole = copy(source, sink, limit);
+                }
+            } finally {
+                sink.close();
+            }
+            if (!temporary.renameTo(file)) {
+                throw new IOException("Couldn't move the download into place.");
+            }
+            temporary = null;
+        } finally {
+            response.close();
+            if (temporary != null) {
+                temporary.delete();
+            }
+        }
+        trim();
+        return whole;
+    }
+
+    /**
+     * Makes a file in the cache to write into, which it leaves alone until it's moved into place
+     * with {@link #put}.
+     */
+    public File createTemporaryFile() throws IOException {
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Couldn't make " + directory);
+        }
+        return File.createTempFile("media", TEMPORARY_SUFFIX, directory);
+    }
+
+    /** Moves a temporary file that's been written with the whole of a URL into place. */
+    public void put(File temporary, String url) throws IOException {
+        if (!temporary.renameTo(getFile(url))) {
+            temporary.delete();
+            throw new IOException("Couldn't move the download into place.");
+        }
+        // The start of it on its own is no use any more.
+        getPartialFile(url).delete();
+        trim();
+    }
+
+    /* @return whether the source ran out before the limit */
+    private static boolean copy(BufferedSource source, BufferedSink sink, long limit)
+            throws IOException {
+        long total = 0;
+        while (total < limit) {
+            long read = source.read(sink.buffer(), Math.min(8192, limit - total));
+            if (read == -1) {
+                return true;
+            }
+            total += read;
+            sink.emitCompleteSegments();
+        }
+        return source.exhausted();
+    }
+
+    /*
+     * Deletes temporary files that were never moved into place, then the files used longest ago
+     * until it's back under its size.
+     */
+    private synchronized void trim() {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        long staleBefore = System.currentTimeMillis() - TEMPORARY_MAX_AGE;
+        long size = 0;
+        for (File file : files) {
+            if (file.getName().endsWith(TEMPORARY_SUFFIX) && file.lastModified() < staleBefore
+                    && file.delete()) {
+                continue;
+            }
+            size += file.length();
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                long difference = a.lastModified() - b.lastModified();
+                return difference < 0 ? -1 : (difference > 0 ? 1 : 0);
+            }
+        });
+        for (File file : files) {
+            if (size <= maxSize) {
+                break;
+            }
+            // Ones still being written are left alone, and ones that weren't are gone already.
+            if (file.getName().endsWith(TEMPORARY_SUFFIX)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                size -= length;
+            }
+        }
+    }
+
+    private static String keyOf(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            byte[] hash = digest.digest(url.getBytes("UTF-8"));
+            StringBuilder key = new StringBuilder(2 * hash.length);
+            for (byte b : hash) {
+                key.append(Character.forDigit((b >> 4) & 0xf, 16));
+                key.append(Character.forDigit(b & 0xf, 16));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException | IOException e) {
+            // Every platform has both, so this can't happen.
+            throw new IllegalStateException(e);
+        }
+    }
+}
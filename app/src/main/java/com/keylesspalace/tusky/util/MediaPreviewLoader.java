@@ -0,0 +1,256 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.net.Uri;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.Nullable;
+import android.widget.ImageView;
+
+import com.squareup.picasso.Downloader;
+import com.squareup.picasso.MemoryPolicy;
+import com.squareup.picasso.Picasso;
+import com.squareup.picasso.Request;
+import com.squareup.picasso.RequestCreator;
+import com.squareup.picasso.RequestHandler;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the media previews of statuses into bitmaps taken from a pool, and gives them back to it
+ * when their view moves on to another preview, so scrolling through a lot of media doesn't keep
+ * allocating new ones. JPEGs, which can't be transparent, are decoded at 16 bits a pixel.
+ *
+ * Since their bitmaps are reused, previews are kept out of Picasso's memory cache, and each load
+ * gets a key of its own so Picasso never hands the same bitmap to two views. They're still in the
+ * disk cache, so showing one again only costs decoding it, and a view that's bound again to the
+ * preview it's already showing, such as when its status is favourited, is left as it is.
+ */
+public class MediaPreviewLoader {
+    /* The schemes of previews to show and to only download, prefixed to their real ones. */
+    private static final String PREVIEW_PREFIX = "preview+";
+    private static final String PREFETCH_PREFIX = "prefetch+";
+
+    private static final BitmapPool pool = new BitmapPool(Runtime.getRuntime().maxMemory() / 16);
+    /* The bitmaps decoded into by this, which are the only ones that can go in the pool, and the
+     * URLs of the previews they hold. */
+    private static final Map<Bitmap, String> pooled = Collections.synchronizedMap(
+            new WeakHashMap<Bitmap, String>());
+    private static final AtomicLong loads = new AtomicLong();
+
+    /** Has the Picasso that's built load the previews this asks for. */
+    public static void register(Picasso.Builder builder, Downloader downloader) {
+        builder.addRequestHandler(new PreviewRequestHandler(downloader));
+    }
+
+    public static void load(ImageView view, String previewUrl, @DrawableRes int placeholderId,
+            @Nullable Object tag) {
+        Bitmap shown = getBitmap(view);
+        if (shown != null && previewUrl.equals(pooled.get(shown))) {
+            return;
+        }
+        release(view);
+        RequestCreator request = Picasso.with(view.getContext())
+                .load(Uri.parse(PREVIEW_PREFIX + previewUrl))
+                .stableKey(previewUrl + "#" + loads.incrementAndGet())
+                .memoryPolicy(MemoryPolicy.NO_CACHE, MemoryPolicy.NO_STORE)
+                .placeholder(placeholderId);
+        if (tag != null) {
+            request.tag(tag);
+        }
+        request.into(view);
+    }
+
+    /**
+     * Gets a preview into the disk cache without decoding it, as there's no knowing which bitmap
+     * it could go in yet.
+     */
+    public static RequestCreator createPrefetchRequest(Picasso picasso, String previewUrl) {
+        return picasso.load(Uri.parse(PREFETCH_PREFIX + previewUrl))
+                .memoryPolicy(MemoryPolicy.NO_CACHE, MemoryPolicy.NO_STORE);
+    }
+
+    /** Takes the preview a view is showing off it, and back into the pool. */
+    public static void release(ImageView view) {
+        Bitmap bitmap = getBitmap(view);
+        if (bitmap != null && pooled.remove(bitmap) != null) {
+            view.setImageDrawable(null);
+            pool.put(bitmap);
+        }
+    }
+
+    @Nullable
+    private static Bitmap getBitmap(ImageView view) {
+        Drawable drawable = view.getDrawable();
+        if (!(drawable instanceof BitmapDrawable)) {
+            return null;
+        }
+        return ((BitmapDrawable) drawable).getBitmap();
+    }
+
+    /** Lets the pooled bitmaps go, for when memory is short. */
+    public static void trimMemory() {
+        pool.clear();
+    }
+
+    /**
+     * Decodes an image into a bitmap from the pool, if there's one it fits. JPEGs are decoded as
+     * RGB_565, everything else as ARGB_8888 in case it's transparent.
+     */
+    public static Bitmap decode(byte[] data, BitmapPool pool) throws IOException {
+        Bitmap bitmap = decode(new ByteArrayInputStream(data), pool);
+        if (bitmap == null) {
+            bitmap = decode(new ByteArrayInputStream(data), null);
+        }
+        return bitmap;
+    }
+
+    /**
+     * Decodes an image as it's read from a stream. Only the start of it, which is read for its
+     * size, is held in memory, and the stream is left wherever the decoder stopped reading.
+     *
+     * @param pool to decode into a bitmap from, or null to decode into a new one
+     * @return null if the bitmap from the pool couldn't be decoded into after all, by which time
+     * the stream's been read from, so it has to be decoded from the start again without the pool
+     */
+    @Nullable
+    private static Bitmap decode(InputStream stream, @Nullable BitmapPool pool)
+            throws IOException {
+        RewindableInputStream rewindable = new RewindableInputStream(stream);
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeStream(rewindable, null, options);
+        rewindable.rewind();
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            throw new IOException("The preview isn't an image that can be decoded.");
+        }
+        Bitmap.Config config;
+        if ("image/jpeg".equals(options.outMimeType)) {
+            config = Bitmap.Config.RGB_565;
+        } else {
+            config = Bitmap.Config.ARGB_8888;
+        }
+        options.inJustDecodeBounds = false;
+        options.inPreferredConfig = config;
+        options.inMutable = true;
+        if (pool != null) {
+            options.inBitmap = pool.get(options.outWidth, options.outHeight, config);
+        }
+        Bitmap bitmap;
+        try {
+            bitmap = BitmapFactory.decodeStream(rewindable, null, options);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (bitmap == null) {
+            throw new IOException("The preview couldn't be decoded.");
+        }
+        return bitmap;
+    }
+
+    private static class PreviewRequestHandler extends RequestHandler {
+        private final Downloader downloader;
+        private Bitmap empty;
+
+        PreviewRequestHandler(Downloader downloader) {
+            this.downloader = downloader;
+        }
+
+        @Override
+        public boolean canHandleRequest(Request data) {
+            String scheme = data.uri.getScheme();
+            return scheme != null
+                    && (scheme.startsWith(PREVIEW_PREFIX) || scheme.startsWith(PREFETCH_PREFIX));
+        }
+
+        @Override
+        public Result load(Request request, int networkPolicy) throws IOException {
+            String uri = request.uri.toString();
+            boolean prefetch = uri.startsWith(PREFETCH_PREFIX);
+            if (prefetch) {
+                uri = uri.substring(PREFETCH_PREFIX.length());
+            } else {
+                uri = uri.substring(PREVIEW_PREFIX.length());
+            }
+            if (prefetch) {
+                // It has to be read to the end, for it to be written to the disk cache.
+                InputStream stream = open(uri, networkPolicy);
+                try {
+                    drain(stream);
+                } finally {
+                    stream.close();
+                }
+                return new Result(getEmpty(), Picasso.LoadedFrom.NETWORK);
+            }
+            Bitmap bitmap = decode(uri, networkPolicy, pool);
+            if (bitmap == null) {
+                /* It was read to the end, so this time it comes from the disk cache, if it can be
+                 * cached at all. */
+                bitmap = decode(uri, networkPolicy, null);
+            }
+            pooled.put(bitmap, uri);
+            return new Result(bitmap, Picasso.LoadedFrom.NETWORK);
+        }
+
+        @Nullable
+        private Bitmap decode(String uri, int networkPolicy, @Nullable BitmapPool pool)
+                throws IOException {
+            InputStream stream = open(uri, networkPolicy);
+            try {
+                Bitmap bitmap = MediaPreviewLoader.decode(stream, pool);
+                // The decoder can stop short of the end, which still has to go in the cache.
+                drain(stream);
+                return bitmap;
+            } finally {
+                stream.close();
+            }
+        }
+
+        private InputStream open(String uri, int networkPolicy) throws IOException {
+            Downloader.Response response = downloader.load(Uri.parse(uri), networkPolicy);
+            InputStream stream = response.getInputStream();
+            if (stream == null) {
+                throw new IOException("No response body for the preview.");
+            }
+            return stream;
+        }
+
+        /* What prefetches come back with, as Picasso needs a bitmap of some kind. */
+        private synchronized Bitmap getEmpty() {
+            if (empty == null) {
+                empty = Bitmap.createBitmap(1, 1, Bitmap.Config.ALPHA_8);
+            }
+            return empty;
+        }
+
+        private static void drain(InputStream stream) throws IOException {
+            byte[] buffer = new byte[8192];
+            while (stream.read(buffer) != -1) {
+                // Nothing's kept of it.
+            }
+        }
+    }
+}
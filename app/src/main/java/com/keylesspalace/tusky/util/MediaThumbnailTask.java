@@ -0,0 +1,132 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.media.MediaMetadataRetriever;
+import android.media.ThumbnailUtils;
+import android.net.Uri;
+import android.os.AsyncTask;
+import android.support.annotation.Nullable;
+
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+/**
+ * Makes a square thumbnail of an image or video, decoding no more of an image than it takes to
+ * fill the thumbnail.
+ */
+public class MediaThumbnailTask extends AsyncTask<Uri, Void, Bitmap> {
+    private Context context;
+    private boolean video;
+    private int size;
+    private Listener listener;
+
+    /** @param size of the sides of the thumbnail, in pixels */
+    public MediaThumbnailTask(Context context, boolean video, int size, Listener listener) {
+        this.context = context.getApplicationContext();
+        this.video = video;
+        this.size = size;
+        this.listener = listener;
+    }
+
+    /**
+     * @return the largest power of two an image can be sampled by and still cover a square of the
+     * given size, as the thumbnail is cropped out of its middle
+     */
+    static int calculateInSampleSize(int width, int height, int size) {
+        int inSampleSize = 1;
+        while (width / (inSampleSize * 2) >= size && height / (inSampleSize * 2) >= size) {
+            inSampleSize *= 2;
+        }
+        return inSampleSize;
+    }
+
+    @Override
+    protected Bitmap doInBackground(Uri... uris) {
+        Bitmap source;
+        try {
+            source = video ? getVideoFrame(uris[0]) : decodeImage(uris[0]);
+        } catch (OutOfMemoryError error) {
+            return null;
+        }
+        if (source == null) {
+            return null;
+        }
+        return ThumbnailUtils.extractThumbnail(source, size, size,
+                ThumbnailUtils.OPTIONS_RECYCLE_INPUT);
+    }
+
+    @Nullable
+    private Bitmap decodeImage(Uri uri) {
+        InputStream inputStream;
+        try {
+            inputStream = context.getContentResolver().openInputStream(uri);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeStream(inputStream, null, options);
+        IOUtils.closeQuietly(inputStream);
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+        options.inSampleSize = calculateInSampleSize(options.outWidth, options.outHeight, size);
+        options.inJustDecodeBounds = false;
+        try {
+            inputStream = context.getContentResolver().openInputStream(uri);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        try {
+            return BitmapFactory.decodeStream(inputStream, null, options);
+        } finally {
+            IOUtils.closeQuietly(inputStream);
+        }
+    }
+
+    @Nullable
+    private Bitmap getVideoFrame(Uri uri) {
+        MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+        try {
+            retriever.setDataSource(context, uri);
+            return retriever.getFrameAtTime();
+        } catch (RuntimeException e) {
+            // It isn't a video that can be read after all.
+            return null;
+        } finally {
+            retriever.release();
+        }
+    }
+
+    @Override
+    protected void onPostExecute(Bitmap thumbnail) {
+        if (thumbnail != null) {
+            listener.onSuccess(thumbnail);
+        } else {
+            listener.onFailure();
+        }
+        super.onPostExecute(thumbnail);
+    }
+
+    public interface Listener {
+        void onSuccess(Bitmap thumbnail);
+        void onFailure();
+    }
+}
@@ -0,0 +1,119 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces the media being readied to go with a status. Images are downsized a few at a time in the
+ * background, each one's upload starts as soon as it's ready, while the next is still being
+ * downsized, and only so many uploads go at once so they don't split the connection between them
+ * and all finish late.
+ *
+ * Rather than something waiting on it, it calls back once everything that was added is done.
+ * Everything but the preparing is meant to be done on the main thread.
+ */
+public class MediaUploadQueue {
+    private final ThreadPoolExecutor prepareExecutor;
+    private final int maxUploads;
+    private final Queue<Runnable> waitingUploads;
+    private final List<Runnable> idleListeners;
+    /* Media that's been added and isn't done yet, whether it's being prepared or uploaded. */
+    private int pending;
+    private int uploading;
+
+    /**
+     * @param maxPrepares how many can be prepared at once, each of which can take a lot of memory
+     * @param maxUploads how many can be uploaded at once
+     */
+    public MediaUploadQueue(int maxPrepares, int maxUploads) {
+        prepareExecutor = new ThreadPoolExecutor(maxPrepares, maxPrepares, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>());
+        prepareExecutor.allowCoreThreadTimeOut(true);
+        this.maxUploads = maxUploads;
+        waitingUploads = new ArrayDeque<>();
+        idleListeners = new ArrayList<>();
+    }
+
+    /** Where media is prepared, such as by a DownsizeImageTask. */
+    public Executor getPrepareExecutor() {
+        return prepareExecutor;
+    }
+
+    /** Counts another piece of media, which has to be {@link #finish}ed one way or another. */
+    public void add() {
+        pending++;
+    }
+
+    /** Marks a piece of media done, whether it was uploaded or it failed or was removed. */
+    public void finish() {
+        pending--;
+        if (pending == 0 && !idleListeners.isEmpty()) {
+            List<Runnable> listeners = new ArrayList<>(idleListeners);
+            idleListeners.clear();
+            for (Runnable listener : listeners) {
+                listener.run();
+            }
+        }
+    }
+
+    public boolean isIdle() {
+        return pending == 0;
+    }
+
+    /** Runs the listener once, the next time all the media added is done. */
+    public void whenIdle(Runnable listener) {
+        idleListeners.add(listener);
+    }
+
+    public void removeIdleListener(Runnable listener) {
+        idleListeners.remove(listener);
+    }
+
+    /**
+     * Starts an upload now if there's room for it, or else once an upload that's going finishes.
+     * Every upload that's started has to call {@link #onUploadFinished} when it's done.
+     */
+    public void enqueueUpload(Runnable upload) {
+        if (uploading < maxUploads) {
+            uploading++;
+            upload.run();
+        } else {
+            waitingUploads.add(upload);
+        }
+    }
+
+    /** @return whether the upload was still waiting and won't be started now */
+    public boolean removeUpload(Runnable upload) {
+        return waitingUploads.remove(upload);
+    }
+
+    public void onUploadFinished() {
+        uploading--;
+        Runnable next = waitingUploads.poll();
+        if (next != null) {
+            uploading++;
+            next.run();
+        }
+    }
+}
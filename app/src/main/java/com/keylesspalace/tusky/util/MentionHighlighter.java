@@ -0,0 +1,177 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.text.Editable;
+import android.text.Spannable;
+import android.text.Spanned;
+import android.text.TextWatcher;
+import android.text.style.ForegroundColorSpan;
+
+/**
+ * Colours the mentions and hashtags of text as it's edited, the same as
+ * {@link SpanUtils#highlightSpans} would, but only going over the words an edit touched.
+ *
+ * A mention or hashtag is a word, between whitespace, which starts with @ or #. A hashtag with
+ * another # in it, or a mention with two more @'s in it, ends the highlighting, so nothing after
+ * it is coloured. Where that word is, is kept track of, so an edit after it is left alone and an
+ * edit making it a proper word again colours the rest of the text.
+ */
+public class MentionHighlighter implements TextWatcher {
+    private final int colour;
+    /* The start of the word that ends the highlighting, or -1 if it goes on to the end. */
+    private int cutoff;
+    /* Whether an edit went through the word that ended the highlighting, so where it now ends
+     * isn't known. */
+    private boolean cutoffLost;
+    /* The part of the text edited since it was last highlighted, or -1 if there isn't one. */
+    private int dirtyStart;
+    private int dirtyEnd;
+
+    public MentionHighlighter(int colour) {
+        this.colour = colour;
+        cutoff = -1;
+        dirtyStart = -1;
+    }
+
+    /** Colours the whole text, which is needed once before it's edited. */
+    public void highlightAll(Spannable text) {
+        dirtyStart = -1;
+        cutoff = -1;
+        cutoffLost = false;
+        removeSpans(text, 0, text.length());
+        highlight(text, 0, text.length());
+    }
+
+    @Override
+    public void beforeTextChanged(CharSequence s, int start, int count, int after) {}
+
+    @Override
+    public void onTextChanged(CharSequence s, int start, int before, int count) {
+        int oldEnd = start + before;
+        int delta = count - before;
+        if (cutoff >= oldEnd) {
+            cutoff += delta;
+        } else if (cutoff >= start) {
+            cutoff = -1;
+            cutoffLost = true;
+        }
+        /* Edits can pile up before the text is highlighted again, such as when another watcher
+         * changes it too, so the part that's been edited grows to cover them all. */
+        if (dirtyStart == -1) {
+            dirtyStart = start;
+            dirtyEnd = start + count;
+        } else {
+            dirtyStart = shift(dirtyStart, start, oldEnd, delta);
+            dirtyEnd = shift(dirtyEnd, start, oldEnd, delta);
+            dirtyStart = Math.min(dirtyStart, start);
+            dirtyEnd = Math.max(dirtyEnd, start + count);
+        }
+    }
+
+    /* Where a position ends up after [start, oldEnd) was replaced by text delta longer. */
+    private static int shift(int position, int start, int oldEnd, int delta) {
+        if (position >= oldEnd) {
+            return position + delta;
+        } else if (position > start) {
+            return start;
+        }
+        return position;
+    }
+
+    @Override
+    public void afterTextChanged(Editable editable) {
+        if (dirtyStart == -1) {
+            return;
+        }
+        int length = editable.length();
+        int from = Math.min(dirtyStart, length);
+        int to = Math.min(dirtyEnd, length);
+        dirtyStart = -1;
+        // Widen it to the whole words at its ends.
+        while (from > 0) {
+            int codepoint = Character.codePointBefore(editable, from);
+            if (Character.isWhitespace(codepoint)) {
+                break;
+            }
+            from -= Character.charCount(codepoint);
+        }
+        while (to < length) {
+            int codepoint = Character.codePointAt(editable, to);
+            if (Character.isWhitespace(codepoint)) {
+                break;
+            }
+            to += Character.charCount(codepoint);
+        }
+        if (cutoff >= from && cutoff < to) {
+            cutoff = -1;
+            cutoffLost = true;
+        }
+        removeSpans(editable, from, to);
+        if (cutoff != -1 && cutoff < from) {
+            // Nothing after the word that ends the highlighting is coloured.
+            return;
+        }
+        if (cutoffLost) {
+            // Whatever used to be after it has to be coloured now, up to the next one if any.
+            cutoffLost = false;
+            highlight(editable, from, length);
+        } else {
+            highlight(editable, from, to);
+        }
+    }
+
+    /* Colours the words in text[from, to), where it has to begin and end with whole words. */
+    private void highlight(Spannable text, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int codepoint = Character.codePointAt(text, i);
+            if (Character.isWhitespace(codepoint)) {
+                i += Character.charCount(codepoint);
+                continue;
+            }
+            int wordStart = i;
+            char first = text.charAt(wordStart);
+            int marks = 0;
+            i += Character.charCount(codepoint);
+            while (i < text.length()) {
+                codepoint = Character.codePointAt(text, i);
+                if (Character.isWhitespace(codepoint)) {
+                    break;
+                } else if (codepoint == first) {
+                    marks++;
+                }
+                i += Character.charCount(codepoint);
+            }
+            if (first == '#' || first == '@') {
+                if ((first == '#' && marks >= 1) || (first == '@' && marks >= 2)) {
+                    cutoff = wordStart;
+                    removeSpans(text, wordStart, text.length());
+                    return;
+                }
+                text.setSpan(new ForegroundColorSpan(colour), wordStart, i,
+                        Spanned.SPAN_INCLUSIVE_EXCLUSIVE);
+            }
+        }
+    }
+
+    private static void removeSpans(Spannable text, int from, int to) {
+        ForegroundColorSpan[] spans = text.getSpans(from, to, ForegroundColorSpan.class);
+        for (ForegroundColorSpan span : spans) {
+            text.removeSpan(span);
+        }
+    }
+}
@@ -116,10 +116,10 @@ public class NotificationMaker {
                 public void onPrepareLoad(Drawable placeHolderDrawable) {}
             };
 
-            Picasso.with(context)
-                    .load(body.account.avatar)
+            int size = context.getResources()
+                    .getDimensionPixelSize(android.R.dimen.notification_large_icon_width);
+            AvatarLoader.createRequest(Picasso.with(context), body.account.avatar, size)
                     .placeholder(R.drawable.avatar_default)
-                    .transform(new RoundedTransformation(7, 0))
                     .into(mTarget);
         } else {
             setupPreferences(preferences, builder);
@@ -218,7 +218,7 @@ public class NotificationMaker {
             case MENTION:
             case FAVOURITE:
             case REBLOG:
-                return notification.status.content.toString();
+                return notification.status.getContent().toString();
         }
 
         return null;
@@ -0,0 +1,77 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.content.Context;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.RectF;
+import android.support.v7.widget.AppCompatImageView;
+import android.util.AttributeSet;
+
+/**
+ * An image which is dimmed with a ring over it filling up while something's being done with it,
+ * such as a thumbnail of media being uploaded.
+ */
+public class ProgressImageView extends AppCompatImageView {
+    /** Shown as it normally is, with nothing being done. */
+    public static final int NO_PROGRESS = -1;
+
+    private int progress;
+    private final Paint dimPaint;
+    private final Paint ringPaint;
+    private final RectF ringRect;
+
+    public ProgressImageView(Context context) {
+        this(context, null);
+    }
+
+    public ProgressImageView(Context context, AttributeSet attributeSet) {
+        super(context, attributeSet);
+        progress = NO_PROGRESS;
+        dimPaint = new Paint();
+        dimPaint.setColor(Color.argb(128, 0, 0, 0));
+        ringPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+        ringPaint.setColor(Color.WHITE);
+        ringPaint.setStyle(Paint.Style.STROKE);
+        ringPaint.setStrokeWidth(3 * getResources().getDisplayMetrics().density);
+        ringRect = new RectF();
+    }
+
+    /** @param progress from 0 to 100, or {@link #NO_PROGRESS} */
+    public void setProgress(int progress) {
+        if (progress != this.progress) {
+            this.progress = progress;
+            invalidate();
+        }
+    }
+
+    @Override
+    protected void onDraw(Canvas canvas) {
+        super.onDraw(canvas);
+        if (progress == NO_PROGRESS) {
+            return;
+        }
+        int width = getWidth();
+        int height = getHeight();
+        canvas.drawRect(0, 0, width, height, dimPaint);
+        float radius = Math.min(width, height) / 4f;
+        ringRect.set(width / 2f - radius, height / 2f - radius, width / 2f + radius,
+                height / 2f + radius);
+        canvas.drawArc(ringRect, -90, 360f * progress / 100, false, ringPaint);
+    }
+}
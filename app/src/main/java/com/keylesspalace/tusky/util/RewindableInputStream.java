@@ -0,0 +1,117 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Keeps what's read from a stream until it's rewound, once, so the start of an image can be read
+ * for its size and then the whole image decoded, without the rest of it being held in memory.
+ *
+ * It doesn't support mark and reset, so BitmapFactory, which marks the streams it's given that do
+ * with a limit of its own, wraps it instead and leaves what's kept here alone.
+ */
+class RewindableInputStream extends FilterInputStream {
+    private byte[] kept;
+    private int keptLength;
+    private int position;
+    private boolean rewound;
+
+    RewindableInputStream(InputStream in) {
+        super(in);
+        kept = new byte[8192];
+    }
+
+    /** Goes back to the start, after which nothing more is kept. */
+    void rewind() {
+        if (rewound) {
+            throw new IllegalStateException("It can only be rewound once.");
+        }
+        rewound = true;
+        position = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int read = read(single, 0, 1);
+        return read == -1 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int count) throws IOException {
+        if (rewound && kept != null) {
+            if (position < keptLength) {
+                int read = Math.min(count, keptLength - position);
+                System.arraycopy(kept, position, buffer, offset, read);
+                position += read;
+                return read;
+            }
+            // It's all been read again.
+            kept = null;
+        }
+        int read = in.read(buffer, offset, count);
+        if (read > 0 && !rewound) {
+            keep(buffer, offset, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        if (count <= 0) {
+            return 0;
+        }
+        if (rewound && kept == null) {
+            return in.skip(count);
+        }
+        // What's skipped before it's rewound still has to be kept.
+        byte[] buffer = new byte[(int) Math.min(count, 8192)];
+        int read = read(buffer, 0, buffer.length);
+        return read == -1 ? 0 : read;
+    }
+
+    @Override
+    public int available() throws IOException {
+        int replayed = rewound && kept != null ? keptLength - position : 0;
+        return replayed + in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int limit) {}
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("Mark isn't supported.");
+    }
+
+    private void keep(byte[] buffer, int offset, int count) {
+        if (keptLength + count > kept.length) {
+            byte[] grown = new byte[Math.max(kept.length * 2, keptLength + count)];
+            System.arraycopy(kept, 0, grown, 0, keptLength);
+            kept = grown;
+        }
+        System.arraycopy(buffer, offset, kept, keptLength, count);
+        keptLength += count;
+    }
+}
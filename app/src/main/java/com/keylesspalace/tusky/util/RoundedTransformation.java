@@ -55,6 +55,7 @@ public class RoundedTransformation implements Transformation {
 
     @Override
     public String key() {
-        return "rounded";
+        // Picasso caches transformed images by this, so it has to tell apart each kind.
+        return "rounded(" + radius + "," + margin + ")";
     }
 }
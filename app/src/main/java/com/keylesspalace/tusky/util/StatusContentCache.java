@@ -0,0 +1,100 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.support.annotation.Nullable;
+import android.text.Spanned;
+import android.util.LruCache;
+
+import com.emojione.Emojione;
+import com.keylesspalace.tusky.entity.Status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status contents are kept as the HTML they came in and only turned into text when they're shown.
+ * Parsing it for every status of a page as it's read wastes time on reblogged statuses and ones
+ * that are never scrolled to, so instead the parsed text of the statuses shown most recently is
+ * kept here by status id, with its links already made clickable.
+ */
+public class StatusContentCache {
+    private static final int MAX_SIZE = 200; // statuses
+
+    private static final LruCache<String, Spanned> cache = new LruCache<>(MAX_SIZE);
+    /* A single thread which goes away when there's nothing to do, so rendering ahead never
+     * competes with itself. */
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30,
+            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Nullable
+    public static Spanned get(String statusId, @Nullable String html,
+            @Nullable Status.Mention[] mentions) {
+        if (html == null) {
+            return null;
+        }
+        Spanned content = cache.get(statusId);
+        if (content == null) {
+            content = render(html, mentions);
+            cache.put(statusId, content);
+        }
+        return content;
+    }
+
+    /**
+     * Forgets every status, such as when a different account logs in. Ids are only unique within
+     * an instance, so another instance's statuses could otherwise be shown the wrong text.
+     */
+    public static void clear() {
+        cache.evictAll();
+    }
+
+    public static Spanned render(String html, @Nullable Status.Mention[] mentions) {
+        return LinkHelper.createClickableText(Emojione.shortnameToUnicode(html, false), mentions);
+    }
+
+    /**
+     * Parses the contents of statuses that are about to be shown in the background, so they don't
+     * have to be when they're bound.
+     */
+    public static void prerender(List<Status> statuses) {
+        final List<Status> toRender = new ArrayList<>(statuses.size());
+        for (Status status : statuses) {
+            if (status != null && !status.placeholder
+                    && cache.get(status.getActionableId()) == null) {
+                toRender.add(status.getActionableStatus());
+            }
+        }
+        if (toRender.isEmpty()) {
+            return;
+        }
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (Status status : toRender) {
+                    status.getContent();
+                }
+            }
+        });
+    }
+}
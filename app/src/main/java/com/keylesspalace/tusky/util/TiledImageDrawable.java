@@ -0,0 +1,334 @@
+/* Copyright 2017 Andrew Dawson
+ *
+ * This file is a part of Tusky.
+ *
+ * This program is free software; you can redistribute it and/or modify it under the terms of the
+ * GNU General Public License as published by the Free Software Foundation; either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * Tusky is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even
+ * the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU General
+ * Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with Tusky; if not,
+ * see <http://www.gnu.org/licenses>. */
+
+package com.keylesspalace.tusky.util;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+import android.support.annotation.WorkerThread;
+import android.util.LruCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shows an image of any size without ever decoding all of it at full resolution. Underneath is
+ * a base bitmap of the whole image, small enough to fit the screen, and where it's zoomed in past
+ * what the base can show sharply, just the tiles of it that are in view are decoded, at the
+ * resolution they're shown at.
+ *
+ * The drawable is the size of the image, so the view showing it has to scale it down with its
+ * matrix, and tell it what part is in view through {@link #setViewport}.
+ */
+public class TiledImageDrawable extends Drawable {
+    private static final int TILE_SIZE = 256; // pixels, as decoded
+
+    private final int imageWidth;
+    private final int imageHeight;
+    @Nullable private final BitmapRegionDecoder decoder;
+    private final Bitmap.Config config;
+    private final long maxTileBytes;
+    private final LruCache<Long, Bitmap> tiles;
+    private final Set<Long> pending;
+    private final ExecutorService executor;
+    private final Handler handler;
+    private final Paint paint;
+    private final Rect tileRect;
+    private final Bitmap base;
+    /* The part of the image in view, in its own pixels. */
+    private final Rect visible;
+    /* A copy of it for the decoding thread, replaced rather than changed. */
+    private volatile Rect visibleSnapshot;
+    /* How many of the image's pixels each pixel of a tile covers, or 0 if no tiles are needed. */
+    private volatile int sample;
+    private volatile boolean recycled;
+
+    /**
+     * @param decoder for the tiles, if the image's format can be decoded a region at a time
+     * @param base the whole image at a lower resolution
+     * @param maxTileBytes the most the tiles may take, however far it's zoomed in
+     */
+    public TiledImageDrawable(int imageWidth, int imageHeight,
+            @Nullable BitmapRegionDecoder decoder, Bitmap.Config config, Bitmap base,
+            long maxTileBytes) {
+        this.imageWidth = imageWidth;
+        this.imageHeight = imageHeight;
+        this.decoder = decoder;
+        this.config = config;
+        this.base = base;
+        this.maxTileBytes = maxTileBytes;
+        tiles = new LruCache<Long, Bitmap>((int) Math.min(maxTileBytes, Integer.MAX_VALUE)) {
+            @Override
+            protected int sizeOf(Long key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+        pending = new HashSet<>();
+        executor = Executors.newSingleThreadExecutor();
+        handler = new Handler(Looper.getMainLooper());
+        paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        tileRect = new Rect();
+        visible = new Rect();
+        visibleSnapshot = new Rect();
+    }
+
+    /**
+     * Decodes what's needed to show an image file, which can take a while and use a lot of memory
+     * if it's big, so it has to be done in the background.
+     *
+     * @param maxBaseSize the most pixels the base may have along either side
+     */
+    @WorkerThread
+    public static TiledImageDrawable decode(File file, int maxBaseSize, long maxTileBytes)
+            throws IOException {
+        String path = file.getPath();
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        BitmapFactory.decodeFile(path, options);
+        int width = options.outWidth;
+        int height = options.outHeight;
+        if (width <= 0 || height <= 0) {
+            throw new IOException("The image couldn't be decoded.");
+        }
+        // JPEGs can't be transparent, so nothing is lost decoding them at 16 bits a pixel.
+        Bitmap.Config config;
+        if ("image/jpeg".equals(options.outMimeType)) {
+            config = Bitmap.Config.RGB_565;
+        } else {
+            config = Bitmap.Config.ARGB_8888;
+        }
+        BitmapRegionDecoder decoder;
+        try {
+            decoder = BitmapRegionDecoder.newInstance(path, false);
+        } catch (IOException e) {
+            // Formats like GIF can't be decoded in parts, so the base will have to do.
+            decoder = null;
+        }
+        options.inJustDecodeBounds = false;
+        options.inPreferredConfig = config;
+        options.inSampleSize = 1;
+        while (width / options.inSampleSize > maxBaseSize
+                || height / options.inSampleSize > maxBaseSize) {
+            options.inSampleSize *= 2;
+        }
+        Bitmap base = BitmapFactory.decodeFile(path, options);
+        if (base == null) {
+            if (decoder != null) {
+                decoder.recycle();
+            }
+            throw new IOException("The image couldn't be decoded.");
+        }
+        return new TiledImageDrawable(width, height, decoder, config, base, maxTileBytes);
+    }
+
+    /**
+     * Brings in the tiles for the part of the image in view, at the resolution it's shown at.
+     *
+     * @param displayRect where the image is in the view, which may go past its edges
+     */
+    public void setViewport(RectF displayRect, int viewWidth, int viewHeight) {
+        if (recycled || displayRect.width() <= 0) {
+            return;
+        }
+        float scale = displayRect.width() / imageWidth;
+        visible.set((int) Math.floor(-displayRect.left / scale),
+                (int) Math.floor(-displayRect.top / scale),
+                (int) Math.ceil((viewWidth - displayRect.left) / scale),
+                (int) Math.ceil((viewHeight - displayRect.top) / scale));
+        if (!visible.intersect(0, 0, imageWidth, imageHeight)) {
+            visible.setEmpty();
+        }
+        visibleSnapshot = new Rect(visible);
+        sample = chooseSample(scale);
+        if (sample != 0) {
+            requestTiles();
+        }
+        invalidateSelf();
+    }
+
+    /* Tiles are decoded at the largest power of two that's still as sharp as the screen, unless
+     * that's more than can be held, or the base is as sharp anyway. */
+    private int chooseSample(float scale) {
+        if (decoder == null || visible.isEmpty()) {
+            return 0;
+        }
+        float baseScale = (float) base.getWidth() / imageWidth;
+        if (scale <= baseScale) {
+            return 0;
+        }
+        int sample = 1;
+        while (sample * 2 <= 1 / scale) {
+            sample *= 2;
+        }
+        while (tileCount(sample) * TILE_SIZE * TILE_SIZE * bytesPerPixel() > maxTileBytes) {
+            sample *= 2;
+        }
+        if (1f / sample <= baseScale) {
+            return 0;
+        }
+        return sample;
+    }
+
+    private int tileCount(int sample) {
+        int span = TILE_SIZE * sample;
+        int columns = (visible.right - 1) / span - visible.left / span + 1;
+        int rows = (visible.bottom - 1) / span - visible.top / span + 1;
+        return columns * rows;
+    }
+
+    private int bytesPerPixel() {
+        return config == Bitmap.Config.RGB_565 ? 2 : 4;
+    }
+
+    private void requestTiles() {
+        final int sample = this.sample;
+        int span = TILE_SIZE * sample;
+        for (int row = visible.top / span; row <= (visible.bottom - 1) / span; row++) {
+            for (int column = visible.left / span; column <= (visible.right - 1) / span;
+                    column++) {
+                final long key = key(sample, column, row);
+                if (tiles.get(key) != null || !pending.add(key)) {
+                    continue;
+                }
+                final Rect region = new Rect(column * span, row * span,
+                        Math.min((column + 1) * span, imageWidth),
+                        Math.min((row + 1) * span, imageHeight));
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        final Bitmap tile = decodeTile(region, sample);
+                        handler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                pending.remove(key);
+                                if (tile != null && !recycled) {
+                                    tiles.put(key, tile);
+                                    invalidateSelf();
+                                }
+                            }
+                        });
+                    }
+                });
+            }
+        }
+    }
+
+    @WorkerThread
+    @Nullable
+    private Bitmap decodeTile(Rect region, int sample) {
+        // It may have been zoomed or scrolled away from while it was waiting.
+        if (recycled || sample != this.sample || !Rect.intersects(region, visibleSnapshot)) {
+            return null;
+        }
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sample;
+        options.inPreferredConfig = config;
+        try {
+            return decoder.decodeRegion(region, options);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    private static long key(int sample, int column, int row) {
+        return ((long) sample << 48) | ((long) column << 24) | row;
+    }
+
+    /** Stops decoding tiles and lets go of them, for when it's no longer shown. */
+    public void recycle() {
+        recycled = true;
+        tiles.evictAll();
+        pending.clear();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (decoder != null) {
+                    decoder.recycle();
+                }
+            }
+        });
+        executor.shutdown();
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        Rect bounds = getBounds();
+        canvas.drawBitmap(base, null, bounds, paint);
+        int sample = this.sample;
+        if (sample == 0) {
+            return;
+        }
+        float scaleX = (float) bounds.width() / imageWidth;
+        float scaleY = (float) bounds.height() / imageHeight;
+        int span = TILE_SIZE * sample;
+        for (int row = visible.top / span; row <= (visible.bottom - 1) / span; row++) {
+            for (int column = visible.left / span; column <= (visible.right - 1) / span;
+                    column++) {
+                Bitmap tile = tiles.get(key(sample, column, row));
+                if (tile == null) {
+                    continue;
+                }
+                tileRect.set(
+                        bounds.left + (int) (column * span * scaleX),
+                        bounds.top + (int) (row * span * scaleY),
+                        bounds.left + (int) (Math.min((column + 1) * span, imageWidth) * scaleX),
+                        bounds.top + (int) (Math.min((row + 1) * span, imageHeight) * scaleY));
+                canvas.drawBitmap(tile, null, tileRect, paint);
+            }
+        }
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return imageWidth;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return imageHeight;
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        paint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(@Nullable ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
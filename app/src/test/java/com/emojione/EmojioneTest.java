@@ -0,0 +1,87 @@
+package com.emojione;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+
+public class EmojioneTest {
+    private static final Pattern SHORTNAME_PATTERN = Pattern.compile(":([-+\\w]+):");
+    private static final String[] PIECES = {
+        ":", ":", ":", "::", "smile", "thumbsup", "+1", "-1", "100", "flag_us", "a", "b", "x",
+        "sm", "ile", "_", "-", "+", " ", "  ", "\n", "\u00e9", "<p>", "</p>", "12", "elephant",
+        ":)",
+    };
+
+    /** The regex and String.replace implementation it replaced. */
+    private static String reference(String input, boolean supported,
+            boolean removeIfUnsupported) {
+        Matcher matcher = SHORTNAME_PATTERN.matcher(input);
+        while (matcher.find()) {
+            String unicode = Emojione.getUnicode(matcher.group(1));
+            if (unicode == null) {
+                continue;
+            }
+            if (supported) {
+                input = input.replace(":" + matcher.group(1) + ":", unicode);
+            } else if (removeIfUnsupported) {
+                input = input.replace(":" + matcher.group(1) + ":", "");
+            }
+        }
+        return input;
+    }
+
+    @Test
+    public void replacesShortnames() {
+        String smile = Emojione.getUnicode("smile");
+        assertNotNull(smile);
+        assertEquals("Hi " + smile + "!", Emojione.shortnameToUnicode("Hi :smile:!", true, false));
+        assertEquals("Hi :nothing:!", Emojione.shortnameToUnicode("Hi :nothing:!", true, false));
+        assertEquals("Hi !", Emojione.shortnameToUnicode("Hi :smile:!", false, true));
+        assertEquals("Hi :smile:!", Emojione.shortnameToUnicode("Hi :smile:!", false, false));
+    }
+
+    @Test
+    public void returnsTheInputWhenThereAreNoShortnames() {
+        String input = "Nothing to see: here at 12:30";
+        assertTrue(input == Emojione.shortnameToUnicode(input, true, false));
+    }
+
+    @Test
+    public void matchesTheReferenceImplementation() {
+        Random random = new Random(42);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200000; i++) {
+            builder.setLength(0);
+            int pieces = random.nextInt(16);
+            for (int j = 0; j < pieces; j++) {
+                builder.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            String input = builder.toString();
+            assertEquals(input, reference(input, true, false),
+                    Emojione.shortnameToUnicode(input, true, false));
+            assertEquals(input, reference(input, false, true),
+                    Emojione.shortnameToUnicode(input, false, true));
+            assertEquals(input, reference(input, false, false),
+                    Emojione.shortnameToUnicode(input, false, false));
+        }
+    }
+
+    @Test
+    public void tableHasEveryShortname() {
+        Emojione.ShortNameTable table =
+                new Emojione.ShortNameTable(Emojione.ShortNameTable.read());
+        assertTrue(table.size() > 1800);
+        for (int i = 0; i < table.size(); i++) {
+            String shortName = table.shortNameAt(i);
+            assertEquals(shortName, i, table.indexOf(shortName, 0, shortName.length()));
+            if (i > 0) {
+                assertTrue(shortName, table.shortNameAt(i - 1).compareTo(shortName) < 0);
+            }
+        }
+        assertEquals(-1, table.indexOf("not_a_shortname", 0, "not_a_shortname".length()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.keylesspalace.tusky.network;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HttpHeaderLinkTest {
+    @Test
+    public void mastodonFollowers() {
+        List<HttpHeaderLink> links = HttpHeaderLink.parse(
+                "<https://mastodon.example/api/v1/accounts/1/followers?limit=40&max_id=7163058>; "
+                + "rel=\"next\", <https://mastodon.example/api/v1/accounts/1/followers?limit=40"
+                + "&since_id=7275607>; rel=\"prev\"");
+        assertEquals(2, links.size());
+        HttpHeaderLink next = HttpHeaderLink.findByRelationType(links, "next");
+        HttpHeaderLink prev = HttpHeaderLink.findByRelationType(links, "prev");
+        assertEquals("7163058", next.getQueryParameter("max_id"));
+        assertEquals("40", next.getQueryParameter("limit"));
+        assertNull(next.getQueryParameter("since_id"));
+        assertEquals("7275607", prev.getQueryParameter("since_id"));
+    }
+
+    @Test
+    public void onlyNext() {
+        List<HttpHeaderLink> links = HttpHeaderLink.parse(
+                "<https://a.example/api/v1/blocks?max_id=5>; rel=\"next\"");
+        assertEquals(1, links.size());
+        assertNull(HttpHeaderLink.findByRelationType(links, "prev"));
+        assertEquals("5", HttpHeaderLink.findByRelationType(links, "next")
+                .getQueryParameter("max_id"));
+    }
+
+    @Test
+    public void unquotedAndMultipleRelationTypes() {
+        List<HttpHeaderLink> links = HttpHeaderLink.parse(
+                "<http://a.example/1>;rel=next;title=\"a, b; c\" , <http://a.example/2>; "
+                + "rel=\"prev previous\"");
+        assertEquals(2, links.size());
+        assertEquals("http://a.example/1", links.get(0).uri);
+        assertTrue(links.get(0).hasRelationType("next"));
+        assertTrue(links.get(1).hasRelationType("prev"));
+        assertTrue(links.get(1).hasRelationType("previous"));
+        assertFalse(links.get(1).hasRelationType("next"));
+    }
+
+    @Test
+    public void relationTypesIgnoreTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        // Where an upper case I is lower cased to a dotless one.
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            List<HttpHeaderLink> links = HttpHeaderLink.parse(
+                    "<https://a.example/>; rel=PREVIOUS");
+            assertTrue(links.get(0).hasRelationType("previous"));
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    public void missingOrMalformed() {
+        assertTrue(HttpHeaderLink.parse(null).isEmpty());
+        assertTrue(HttpHeaderLink.parse("").isEmpty());
+        assertTrue(HttpHeaderLink.parse("https://a.example/; rel=next").isEmpty());
+        assertEquals(1, HttpHeaderLink.parse("<https://a.example/?max_id=1>; rel=next, <bro")
+                .size());
+    }
+}
@@ -0,0 +1,109 @@
+package com.keylesspalace.tusky.network;
+
+import com.google.gson.Gson;
+import com.keylesspalace.tusky.entity.Notification;
+import com.keylesspalace.tusky.entity.Status;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+public class MastodonStreamTest {
+    private MockWebServer server;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.shutdown();
+    }
+
+    @Test
+    public void parsesEventsAndSkipsHeartbeats() {
+        MastodonStream.EventParser parser = new MastodonStream.EventParser();
+        assertFalse(parser.feed(":thump"));
+        assertFalse(parser.feed(""));
+        assertFalse(parser.feed("event: update"));
+        assertFalse(parser.feed("data: {\"a\":"));
+        assertFalse(parser.feed("data:1}"));
+        assertTrue(parser.feed(""));
+        assertEquals("update", parser.getEvent());
+        assertEquals("{\"a\":\n1}", parser.getData());
+        assertFalse(parser.feed("data: 5"));
+        assertTrue(parser.feed(""));
+        assertEquals("message", parser.getEvent());
+        assertEquals("5", parser.getData());
+    }
+
+    @Test
+    public void reconnectsAfterTheConnectionDrops() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody(":thump\n\nevent: delete\ndata: 1\n\n"));
+        server.enqueue(new MockResponse()
+                .setHeader("Content-Type", "text/event-stream")
+                .setBody("event: delete\ndata: 2\n\n"));
+
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        Executor directExecutor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        MastodonStream stream = new MastodonStream(new OkHttpClient(),
+                server.url("/api/v1/streaming/user"), new Gson(), directExecutor, 10);
+        MastodonStream.Listener listener = new MastodonStream.Listener() {
+            @Override
+            public void onConnected() {
+                events.add("connected");
+            }
+
+            @Override
+            public void onUpdate(Status status) {
+                events.add("update");
+            }
+
+            @Override
+            public void onNotification(Notification notification) {
+                events.add("notification");
+            }
+
+            @Override
+            public void onDelete(String id) {
+                events.add("delete " + id);
+            }
+        };
+        stream.addListener(listener);
+        try {
+            assertEquals("connected", events.poll(5, TimeUnit.SECONDS));
+            assertEquals("delete 1", events.poll(5, TimeUnit.SECONDS));
+            // Connecting again is what tells the timelines to catch up with since_id.
+            assertEquals("connected", events.poll(5, TimeUnit.SECONDS));
+            assertEquals("delete 2", events.poll(5, TimeUnit.SECONDS));
+        } finally {
+            stream.removeListener(listener);
+        }
+
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/api/v1/streaming/user", request.getPath());
+        assertEquals("text/event-stream", request.getHeader("Accept"));
+        assertTrue(server.getRequestCount() >= 2);
+    }
+}
@@ -0,0 +1,66 @@
+package com.keylesspalace.tusky.network;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import okhttp3.MediaType;
+import okio.Buffer;
+import okio.Source;
+
+import static org.junit.Assert.*;
+
+public class ProgressRequestBodyTest {
+    @Test
+    public void writesAllOfItAndReportsProgress() throws Exception {
+        byte[] data = new byte[1000 * 1000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        final List<Long> progress = new ArrayList<>();
+        ProgressRequestBody body = ProgressRequestBody.create(MediaType.parse("image/jpeg"), data,
+                new ProgressRequestBody.UploadListener() {
+                    @Override
+                    public void onProgress(long bytesWritten, long contentLength) {
+                        assertEquals(1000 * 1000, contentLength);
+                        progress.add(bytesWritten);
+                    }
+                });
+        assertEquals(data.length, body.contentLength());
+        assertEquals("image/jpeg", body.contentType().toString());
+
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+        assertArrayEquals(data, sink.readByteArray());
+        assertEquals(0, (long) progress.get(0));
+        assertEquals(data.length, (long) progress.get(progress.size() - 1));
+        for (int i = 1; i < progress.size(); i++) {
+            assertTrue(progress.get(i) > progress.get(i - 1));
+        }
+        // About every hundredth of the way, not on every read.
+        assertTrue(progress.size() <= 102);
+        assertTrue(progress.size() >= 50);
+    }
+
+    @Test
+    public void opensTheContentAgainWhenRetried() throws Exception {
+        final int[] opened = { 0 };
+        ProgressRequestBody body = new ProgressRequestBody(null, 3,
+                new ProgressRequestBody.Content() {
+                    @Override
+                    public Source open() throws IOException {
+                        opened[0]++;
+                        return new Buffer().writeUtf8("abc");
+                    }
+                }, null);
+        Buffer first = new Buffer();
+        body.writeTo(first);
+        Buffer second = new Buffer();
+        body.writeTo(second);
+        assertEquals("abc", first.readUtf8());
+        assertEquals("abc", second.readUtf8());
+        assertEquals(2, opened[0]);
+    }
+}
@@ -0,0 +1,189 @@
+package com.keylesspalace.tusky.network;
+
+import com.keylesspalace.tusky.util.MediaCache;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+
+import static org.junit.Assert.*;
+
+public class VideoCacheProxyTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private MockWebServer server;
+    private OkHttpClient client;
+    private MediaCache cache;
+    private VideoCacheProxy proxy;
+    private byte[] video;
+    private String url;
+
+    @Before
+    public void setUp() throws Exception {
+        server = new MockWebServer();
+        server.start();
+        client = new OkHttpClient();
+        cache = new MediaCache(folder.newFolder("media"), 1024 * 1024, client);
+        proxy = new VideoCacheProxy(client, cache);
+        proxy.start();
+        video = new byte[100 * 1024];
+        for (int i = 0; i < video.length; i++) {
+            video[i] = (byte) (i * 31);
+        }
+        url = server.url("/media/video.mp4").toString();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        proxy.stop();
+        server.shutdown();
+    }
+
+    @Test
+    public void playsAgainFromTheCache() throws Exception {
+        server.enqueue(new MockResponse().setBody(new Buffer().write(video)));
+        Response first = get(null);
+        assertEquals(200, first.code());
+        assertArrayEquals(video, first.body().bytes());
+        awaitCached();
+
+        Response second = get(null);
+        assertEquals(200, second.code());
+        assertEquals("video/mp4", second.header("Content-Type"));
+        assertArrayEquals(video, second.body().bytes());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, proxy.getHitCount());
+        assertEquals(1, proxy.getMissCount());
+        assertEquals(0.5f, proxy.getHitRate(), 0);
+        assertEquals(video.length, proxy.getBytesSaved());
+    }
+
+    @Test
+    public void servesRangesFromTheCache() throws Exception {
+        server.enqueue(new MockResponse().setBody(new Buffer().write(video)));
+        get("bytes=0-").body().bytes();
+        awaitCached();
+
+        Response middle = get("bytes=1000-1999");
+        assertEquals(206, middle.code());
+        assertEquals("bytes 1000-1999/" + video.length, middle.header("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(video, 1000, 2000), middle.body().bytes());
+
+        Response rest = get("bytes=90000-");
+        assertEquals(206, rest.code());
+        assertArrayEquals(Arrays.copyOfRange(video, 90000, video.length), rest.body().bytes());
+
+        Response last = get("bytes=-10");
+        assertEquals(206, last.code());
+        assertArrayEquals(Arrays.copyOfRange(video, video.length - 10, video.length),
+                last.body().bytes());
+
+        Response past = get("bytes=" + video.length + "-");
+        assertEquals(416, past.code());
+        assertEquals("bytes */" + video.length, past.header("Content-Range"));
+        past.close();
+
+        assertEquals(1, server.getRequestCount());
+        assertEquals(4, proxy.getHitCount());
+    }
+
+    @Test
+    public void continuesFromThePrefetchedStart() throws Exception {
+        int prefetched = 30 * 1024;
+        BufferedSink partial = Okio.buffer(Okio.sink(cache.getPartialFile(url)));
+        partial.write(video, 0, prefetched);
+        partial.close();
+        server.enqueue(new MockResponse()
+                .setResponseCode(206)
+                .setHeader("Content-Range",
+                        "bytes " + prefetched + "-" + (video.length - 1) + "/" + video.length)
+                .setBody(new Buffer().write(video, prefetched, video.length - prefetched)));
+
+        Response response = get("bytes=0-");
+        assertEquals(206, response.code());
+        assertEquals("bytes 0-" + (video.length - 1) + "/" + video.length,
+                response.header("Content-Range"));
+        assertArrayEquals(video, response.body().bytes());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("bytes=" + prefetched + "-", request.getHeader("Range"));
+        assertEquals(prefetched, proxy.getBytesSaved());
+        awaitCached();
+        assertFalse(cache.getPartialFile(url).exists());
+    }
+
+    @Test
+    public void forwardsRangesThatArentCached() throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(206)
+                .setHeader("Content-Range", "bytes 5000-5099/" + video.length)
+                .setBody(new Buffer().write(video, 5000, 100)));
+
+        Response response = get("bytes=5000-5099");
+        assertEquals(206, response.code());
+        assertEquals("bytes 5000-5099/" + video.length, response.header("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(video, 5000, 5100), response.body().bytes());
+        assertEquals("bytes=5000-5099", server.takeRequest().getHeader("Range"));
+        assertFalse(cache.getFile(url).exists());
+        assertEquals(1, proxy.getMissCount());
+    }
+
+    @Test
+    public void refusesRequestsWithoutTheToken() throws Exception {
+        HttpUrl proxyUrl = HttpUrl.parse(proxy.getProxyUrl(url));
+        HttpUrl withoutToken = proxyUrl.newBuilder().removeAllQueryParameters("token").build();
+        HttpUrl wrongToken = proxyUrl.newBuilder().setQueryParameter("token", "0").build();
+        for (HttpUrl requestUrl : new HttpUrl[] { withoutToken, wrongToken }) {
+            Response response = client.newCall(new Request.Builder().url(requestUrl).build())
+                    .execute();
+            assertEquals(403, response.code());
+            response.close();
+        }
+        assertEquals(0, server.getRequestCount());
+        assertEquals(0, proxy.getMissCount());
+    }
+
+    @Test
+    public void parsesRanges() {
+        assertArrayEquals(new long[] { 0, -1 }, VideoCacheProxy.parseRange("bytes=0-"));
+        assertArrayEquals(new long[] { 5, 9 }, VideoCacheProxy.parseRange("bytes=5-9"));
+        assertArrayEquals(new long[] { -1, 10 }, VideoCacheProxy.parseRange("bytes=-10"));
+        assertNull(VideoCacheProxy.parseRange("bytes=9-5"));
+        assertNull(VideoCacheProxy.parseRange("bytes=0-1,5-6"));
+        assertNull(VideoCacheProxy.parseRange("items=0-1"));
+        assertNull(VideoCacheProxy.parseRange("bytes=a-"));
+    }
+
+    private Response get(String range) throws IOException {
+        Request.Builder request = new Request.Builder().url(proxy.getProxyUrl(url));
+        if (range != null) {
+            request.header("Range", range);
+        }
+        return client.newCall(request.build()).execute();
+    }
+
+    /* The file's only moved into place after the last of it has been sent. */
+    private void awaitCached() throws InterruptedException {
+        File file = cache.getFile(url);
+        for (int i = 0; i < 100 && !file.exists(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(file.exists());
+    }
+}
@@ -0,0 +1,27 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DownsizeImageTaskTest {
+    @Test
+    public void samplesDownToTheMostPixels() {
+        assertEquals(1, DownsizeImageTask.calculateInSampleSize(1000, 1000, 2048 * 2048));
+        assertEquals(1, DownsizeImageTask.calculateInSampleSize(2048, 2048, 2048 * 2048));
+        assertEquals(2, DownsizeImageTask.calculateInSampleSize(4032, 3024, 2048 * 2048));
+        assertEquals(4, DownsizeImageTask.calculateInSampleSize(8000, 6000, 2048 * 2048));
+        // Very long images are sampled by their area, not their longest side.
+        assertEquals(2, DownsizeImageTask.calculateInSampleSize(20000, 500, 2048 * 2048));
+    }
+
+    @Test
+    public void shrinksInProportionToHowFarOver() {
+        // Four times over the limit is half the width and height.
+        assertEquals(0.5f, DownsizeImageTask.shrinkScale(1, 4000, 1000), 0.001f);
+        assertEquals(0.25f, DownsizeImageTask.shrinkScale(0.5f, 4000, 1000), 0.001f);
+        // Only just over still shrinks it enough to be worth another try.
+        assertTrue(DownsizeImageTask.shrinkScale(1, 1001, 1000) <= 0.9f);
+    }
+}
@@ -0,0 +1,129 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import okio.Buffer;
+import okio.ByteString;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JpegMetadataStripperTest {
+    private static final ByteString SOI = ByteString.decodeHex("ffd8");
+    private static final ByteString EOI = ByteString.decodeHex("ffd9");
+    private static final ByteString JFIF =
+            ByteString.decodeHex("ffe000104a46494600010100000100010000");
+    private static final ByteString DQT = ByteString.decodeHex("ffdb000600010203");
+    private static final ByteString SOF = ByteString.decodeHex("ffc0000b080010001001011100");
+    private static final ByteString DHT = ByteString.decodeHex("ffc400060000aabb");
+    private static final ByteString SOS = ByteString.decodeHex("ffda0008010100003f00");
+    /* With a stuffed 0xFF and a restart marker, both of which are part of the data. */
+    private static final ByteString SCAN = ByteString.decodeHex("1234ff0056ffd0789a");
+    private static final ByteString COMMENT = segment(0xfe, ByteString.encodeUtf8("hello"));
+    private static final ByteString XMP = segment(0xe1,
+            ByteString.encodeUtf8("http://ns.adobe.com/xap/1.0/\0<x:xmpmeta/>"));
+    private static final ByteString ICC = segment(0xe2,
+            ByteString.encodeUtf8("ICC_PROFILE\0\u0001\u0001profile"));
+    private static final ByteString MPF = segment(0xe2, ByteString.encodeUtf8("MPF\0data"));
+    private static final ByteString ADOBE = segment(0xee, ByteString.encodeUtf8("Adobe\0\0\0"));
+
+    private static ByteString segment(int marker, ByteString content) {
+        return new Buffer()
+                .writeByte(0xff)
+                .writeByte(marker)
+                .writeShort(content.size() + 2)
+                .write(content)
+                .readByteString();
+    }
+
+    /* An EXIF segment with the orientation and a pointer to the GPS directory. */
+    private static ByteString exif(int orientation, boolean littleEndian) {
+        Buffer tiff = new Buffer();
+        if (littleEndian) {
+            tiff.writeUtf8("II").writeShortLe(42).writeIntLe(8).writeShortLe(2);
+            tiff.writeShortLe(0x8825).writeShortLe(4).writeIntLe(1).writeIntLe(38);
+            tiff.writeShortLe(0x0112).writeShortLe(3).writeIntLe(1).writeShortLe(orientation)
+                    .writeShortLe(0);
+            tiff.writeIntLe(0);
+        } else {
+            tiff.writeUtf8("MM").writeShort(42).writeInt(8).writeShort(2);
+            tiff.writeShort(0x8825).writeShort(4).writeInt(1).writeInt(38);
+            tiff.writeShort(0x0112).writeShort(3).writeInt(1).writeShort(orientation)
+                    .writeShort(0);
+            tiff.writeInt(0);
+        }
+        tiff.writeUtf8("gps coordinates");
+        return segment(0xe1, concat(ByteString.encodeUtf8("Exif\0\0"), tiff.readByteString()));
+    }
+
+    private static ByteString concat(ByteString... parts) {
+        Buffer buffer = new Buffer();
+        for (ByteString part : parts) {
+            buffer.write(part);
+        }
+        return buffer.readByteString();
+    }
+
+    private static ByteString strip(ByteString jpeg) throws IOException {
+        Buffer sink = new Buffer();
+        JpegMetadataStripper.strip(new Buffer().write(jpeg), sink);
+        return sink.readByteString();
+    }
+
+    @Test
+    public void keepsOnlyWhatsNeededToShowIt() throws Exception {
+        ByteString jpeg = concat(SOI, JFIF, exif(6, false), XMP, ICC, MPF, ADOBE, COMMENT, DQT,
+                SOF, DHT, SOS, SCAN, EOI, ByteString.encodeUtf8("trailing metadata"));
+        ByteString orientation = ByteString.decodeHex(
+                "ffe10022457869660000" + "4d4d002a00000008" + "0001" + "011200030000000100060000"
+                + "00000000");
+        assertEquals(concat(SOI, JFIF, orientation, ICC, ADOBE, DQT, SOF, DHT, SOS, SCAN, EOI),
+                strip(jpeg));
+    }
+
+    @Test
+    public void leavesOutTheOrientationIfItsNormal() throws Exception {
+        ByteString jpeg = concat(SOI, exif(1, true), DQT, SOF, DHT, SOS, SCAN, EOI);
+        assertEquals(concat(SOI, DQT, SOF, DHT, SOS, SCAN, EOI), strip(jpeg));
+    }
+
+    @Test
+    public void copiesEveryScanOfProgressiveImages() throws Exception {
+        ByteString jpeg = concat(SOI, DQT, SOF, DHT, SOS, SCAN, DHT, SOS, SCAN, COMMENT, SOS, SCAN,
+                EOI);
+        assertEquals(concat(SOI, DQT, SOF, DHT, SOS, SCAN, DHT, SOS, SCAN, SOS, SCAN, EOI),
+                strip(jpeg));
+    }
+
+    @Test
+    public void keepsWhatThereIsOfTruncatedImages() throws Exception {
+        ByteString jpeg = concat(SOI, COMMENT, DQT, SOF, DHT, SOS, SCAN);
+        assertEquals(concat(SOI, DQT, SOF, DHT, SOS, SCAN), strip(jpeg));
+    }
+
+    @Test
+    public void readsOrientationsInEitherByteOrder() {
+        for (int orientation = 1; orientation <= 8; orientation++) {
+            assertEquals(orientation, JpegMetadataStripper.readOrientation(
+                    exif(orientation, true).substring(4).toByteArray()));
+            assertEquals(orientation, JpegMetadataStripper.readOrientation(
+                    exif(orientation, false).substring(4).toByteArray()));
+        }
+        assertEquals(1, JpegMetadataStripper.readOrientation(
+                exif(9, false).substring(4).toByteArray()));
+        assertEquals(1, JpegMetadataStripper.readOrientation(
+                ByteString.encodeUtf8("Exif\0\0MM").toByteArray()));
+    }
+
+    @Test
+    public void refusesWhatIsntAJpeg() throws Exception {
+        try {
+            strip(ByteString.decodeHex("89504e470d0a1a0a"));
+            fail();
+        } catch (IOException expected) {
+            // It's a PNG.
+        }
+    }
+}
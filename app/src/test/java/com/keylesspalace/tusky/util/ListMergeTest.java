@@ -0,0 +1,117 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class ListMergeTest {
+    private static final int SIZE = 10000;
+
+    private static final ListMerge.IdGetter<String> ID = new ListMerge.IdGetter<String>() {
+        @Override
+        public String getId(String item) {
+            return item;
+        }
+    };
+
+    /** Newest first, so the ids go down from newest to oldest. */
+    private static List<String> range(int newest, int oldest) {
+        List<String> list = new ArrayList<>();
+        for (int i = newest; i >= oldest; i--) {
+            list.add(Integer.toString(i));
+        }
+        return list;
+    }
+
+    /** The list update the adapters used before, which the merge has to match. */
+    private static List<String> referenceMerge(List<String> current, List<String> newer) {
+        List<String> items = new ArrayList<>(current);
+        if (newer.isEmpty()) {
+            return items;
+        }
+        if (items.isEmpty()) {
+            return new ArrayList<>(newer);
+        }
+        int index = items.indexOf(newer.get(newer.size() - 1));
+        for (int i = 0; i < index; i++) {
+            items.remove(0);
+        }
+        int newIndex = newer.indexOf(items.get(0));
+        if (newIndex == -1) {
+            items.addAll(0, newer);
+        } else {
+            items.addAll(0, newer.subList(0, newIndex));
+        }
+        return items;
+    }
+
+    @Test
+    public void intoEmpty() {
+        List<String> newer = range(SIZE, 1);
+        List<String> merged = ListMerge.mergeNewer(Collections.<String>emptyList(), newer, ID);
+        assertEquals(newer, merged);
+        assertNotSame(newer, merged);
+    }
+
+    @Test
+    public void overlappingPage() {
+        List<String> current = range(SIZE, 1);
+        List<String> newer = range(SIZE + 40, SIZE - 9);
+        List<String> merged = ListMerge.mergeNewer(current, newer, ID);
+        assertEquals(range(SIZE + 40, 1), merged);
+        assertEquals(SIZE, current.size());
+    }
+
+    @Test
+    public void pageNotReachingTheTop() {
+        List<String> current = range(SIZE, 1);
+        List<String> newer = range(SIZE + 5000, SIZE + 41);
+        List<String> merged = ListMerge.mergeNewer(current, newer, ID);
+        List<String> expected = new ArrayList<>(newer);
+        expected.addAll(current);
+        assertEquals(expected, merged);
+    }
+
+    @Test
+    public void deletedItemsAreDropped() {
+        List<String> current = range(SIZE, 1);
+        List<String> newer = range(SIZE + 10, SIZE - 20);
+        newer.remove(Integer.toString(SIZE - 3));
+        newer.remove(Integer.toString(SIZE - 7));
+        List<String> merged = ListMerge.mergeNewer(current, newer, ID);
+        assertEquals(referenceMerge(current, newer), merged);
+        assertEquals(SIZE + 10 - 2, merged.size());
+    }
+
+    @Test
+    public void emptyPage() {
+        List<String> current = range(SIZE, 1);
+        assertEquals(current, ListMerge.mergeNewer(current, Collections.<String>emptyList(), ID));
+    }
+
+    @Test
+    public void matchesReferenceOnRandomLists() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            int oldest = 1 + random.nextInt(100);
+            List<String> current = range(oldest + SIZE - 1, oldest);
+            int top = oldest + random.nextInt(SIZE + 200);
+            int pageSize = 1 + random.nextInt(Math.max(1, Math.min(SIZE, top - 1)));
+            List<String> newer = range(top, Math.max(1, top - pageSize + 1));
+            // Some items go missing, as deleted statuses do.
+            for (int i = newer.size() - 2; i > 0; i--) {
+                if (random.nextInt(20) == 0) {
+                    newer.remove(i);
+                }
+            }
+            assertEquals("run " + run, referenceMerge(current, newer),
+                    ListMerge.mergeNewer(current, newer, ID));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MastodonHtmlParserTest {
+    @Test
+    public void separatesParagraphsAndLines() {
+        MastodonHtmlParser parser = new MastodonHtmlParser(
+                "<p>First  line<br />second\n line</p><p>Another paragraph</p>");
+        assertEquals("First line\nsecond line\n\nAnother paragraph", parser.getText());
+        assertTrue(parser.getLinks().isEmpty());
+    }
+
+    @Test
+    public void shortensLinksLikeTheWebInterface() {
+        MastodonHtmlParser parser = new MastodonHtmlParser("<p>Look at <a "
+                + "href=\"https://example.com/a/long/path?a=1&amp;b=2\" rel=\"nofollow noopener\" "
+                + "target=\"_blank\"><span class=\"invisible\">https://</span><span "
+                + "class=\"ellipsis\">example.com/a/long</span><span class=\"invisible\">/path?"
+                + "a=1&amp;b=2</span></a> now</p>");
+        assertEquals("Look at example.com/a/long\u2026 now", parser.getText());
+        List<MastodonHtmlParser.Link> links = parser.getLinks();
+        assertEquals(1, links.size());
+        assertEquals(8, links.get(0).start);
+        assertEquals(27, links.get(0).end);
+        assertEquals("https://example.com/a/long/path?a=1&b=2", links.get(0).url);
+    }
+
+    @Test
+    public void readsMentionsAndHashtags() {
+        MastodonHtmlParser parser = new MastodonHtmlParser("<p><span class=\"h-card\"><a "
+                + "href=\"https://example.com/@someone\" class=\"u-url mention\">@<span>someone"
+                + "</span></a></span> <a href=\"https://example.com/tags/tusky\" "
+                + "class=\"mention hashtag\" rel=\"tag\">#<span>tusky</span></a></p>");
+        assertEquals("@someone #tusky", parser.getText());
+        List<MastodonHtmlParser.Link> links = parser.getLinks();
+        assertEquals(2, links.size());
+        assertEquals("https://example.com/@someone", links.get(0).url);
+        assertEquals("@someone", parser.getText().substring(links.get(0).start,
+                links.get(0).end));
+        assertEquals("#tusky", parser.getText().substring(links.get(1).start,
+                links.get(1).end));
+    }
+
+    @Test
+    public void decodesEntitiesAndKeepsStrayCharacters() {
+        MastodonHtmlParser parser = new MastodonHtmlParser(
+                "<p>1 &lt; 2 &amp;&amp; 3 > 2 &#39;x&#x27; & &bogus; a < b <em>c</em></p>");
+        assertEquals("1 < 2 && 3 > 2 'x' & &bogus; a < b c", parser.getText());
+    }
+}
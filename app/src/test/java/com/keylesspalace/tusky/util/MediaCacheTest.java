@@ -0,0 +1,36 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MediaCacheTest {
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private MediaCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new MediaCache(folder.newFolder("media"), 1024 * 1024, new OkHttpClient());
+    }
+
+    @Test
+    public void deletesTemporaryFilesLeftOver() throws IOException {
+        File leftOver = cache.createTemporaryFile();
+        assertTrue(leftOver.setLastModified(System.currentTimeMillis() - 2 * 60 * 60 * 1000));
+        File beingWritten = cache.createTemporaryFile();
+        cache.put(cache.createTemporaryFile(), "https://example.com/image.png");
+        assertFalse(leftOver.exists());
+        assertTrue(beingWritten.exists());
+        assertTrue(cache.getFile("https://example.com/image.png").exists());
+    }
+}
@@ -0,0 +1,18 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class MediaThumbnailTaskTest {
+    @Test
+    public void samplesAsFarAsTheThumbnailAllows() {
+        assertEquals(1, MediaThumbnailTask.calculateInSampleSize(128, 128, 128));
+        assertEquals(1, MediaThumbnailTask.calculateInSampleSize(255, 4000, 128));
+        assertEquals(2, MediaThumbnailTask.calculateInSampleSize(256, 4000, 128));
+        // A 24 MP photo is decoded at a sixteenth of its width and height.
+        assertEquals(16, MediaThumbnailTask.calculateInSampleSize(6000, 4000, 128));
+        // Images smaller than the thumbnail aren't sampled at all.
+        assertEquals(1, MediaThumbnailTask.calculateInSampleSize(50, 50, 128));
+    }
+}
@@ -0,0 +1,86 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MediaUploadQueueTest {
+    private final List<String> started = new ArrayList<>();
+
+    private Runnable upload(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                started.add(name);
+            }
+        };
+    }
+
+    @Test
+    public void startsNoMoreThanTheMostUploadsAtOnce() {
+        MediaUploadQueue queue = new MediaUploadQueue(1, 2);
+        queue.enqueueUpload(upload("a"));
+        queue.enqueueUpload(upload("b"));
+        queue.enqueueUpload(upload("c"));
+        queue.enqueueUpload(upload("d"));
+        assertEquals(2, started.size());
+        queue.onUploadFinished();
+        assertEquals(3, started.size());
+        assertEquals("c", started.get(2));
+        queue.onUploadFinished();
+        queue.onUploadFinished();
+        queue.onUploadFinished();
+        assertEquals(4, started.size());
+    }
+
+    @Test
+    public void skipsUploadsRemovedBeforeTheyStart() {
+        MediaUploadQueue queue = new MediaUploadQueue(1, 1);
+        queue.enqueueUpload(upload("a"));
+        Runnable b = upload("b");
+        queue.enqueueUpload(b);
+        queue.enqueueUpload(upload("c"));
+        assertTrue(queue.removeUpload(b));
+        assertFalse(queue.removeUpload(b));
+        queue.onUploadFinished();
+        assertEquals(2, started.size());
+        assertEquals("c", started.get(1));
+    }
+
+    @Test
+    public void callsBackOnceEverythingIsDone() {
+        MediaUploadQueue queue = new MediaUploadQueue(1, 1);
+        final int[] calls = { 0 };
+        Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                calls[0]++;
+            }
+        };
+        assertTrue(queue.isIdle());
+        queue.add();
+        queue.add();
+        queue.whenIdle(listener);
+        queue.finish();
+        assertFalse(queue.isIdle());
+        assertEquals(0, calls[0]);
+        queue.finish();
+        assertTrue(queue.isIdle());
+        assertEquals(1, calls[0]);
+        // Only the once.
+        queue.add();
+        queue.finish();
+        assertEquals(1, calls[0]);
+
+        queue.add();
+        queue.whenIdle(listener);
+        queue.removeIdleListener(listener);
+        queue.finish();
+        assertEquals(1, calls[0]);
+    }
+}
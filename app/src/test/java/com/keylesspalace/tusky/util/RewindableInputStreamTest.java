@@ -0,0 +1,78 @@
+package com.keylesspalace.tusky.util;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class RewindableInputStreamTest {
+    private static byte[] data(int length) {
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+
+    private static byte[] readAll(InputStream stream) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1000];
+        int read;
+        while ((read = stream.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void readsItAllAgainAfterBeingRewound() throws IOException {
+        byte[] data = data(30000);
+        RewindableInputStream stream = new RewindableInputStream(new ByteArrayInputStream(data));
+        byte[] start = new byte[20000];
+        int read = 0;
+        while (read < start.length) {
+            read += stream.read(start, read, start.length - read);
+        }
+        stream.rewind();
+        assertArrayEquals(data, readAll(stream));
+    }
+
+    @Test
+    public void keepsWhatsSkippedAndReadByteByByte() throws IOException {
+        byte[] data = data(100);
+        RewindableInputStream stream = new RewindableInputStream(new ByteArrayInputStream(data));
+        assertEquals(data[0] & 0xFF, stream.read());
+        assertEquals(10, stream.skip(10));
+        stream.rewind();
+        assertEquals(data[0] & 0xFF, stream.read());
+        assertArrayEquals(data, concat(new byte[] { data[0] }, readAll(stream)));
+    }
+
+    @Test
+    public void doesNotSupportMark() {
+        RewindableInputStream stream = new RewindableInputStream(
+                new ByteArrayInputStream(data(10)));
+        assertFalse(stream.markSupported());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void canOnlyBeRewoundOnce() {
+        RewindableInputStream stream = new RewindableInputStream(
+                new ByteArrayInputStream(data(10)));
+        stream.rewind();
+        stream.rewind();
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] both = new byte[a.length + b.length];
+        System.arraycopy(a, 0, both, 0, a.length);
+        System.arraycopy(b, 0, both, a.length, b.length);
+        return both;
+    }
+}